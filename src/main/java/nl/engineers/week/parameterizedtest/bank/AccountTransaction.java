@@ -0,0 +1,216 @@
+package nl.engineers.week.parameterizedtest.bank;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Optimistic transaction over one or more {@link BankAccountExample}s.
+ * Deposits and withdrawals are buffered against a snapshot of each account's balance and
+ * version taken when the account is first touched. At commit the touched accounts are locked
+ * briefly in a fixed order, their versions are validated against the snapshots, and the
+ * buffered operations are applied all together or not at all.
+ * <p>
+ * A transaction is used by a single thread and can be committed once.
+ */
+public class AccountTransaction {
+
+    // Account numbers and identity hash codes can both collide, so lock on a unique per-instance order.
+    private static final Comparator<BankAccountExample> LOCK_ORDER =
+            Comparator.comparingLong(BankAccountExample::getLockOrder);
+
+    private final Map<BankAccountExample, Snapshot> snapshots = new IdentityHashMap<>();
+    private final List<Operation> operations = new ArrayList<>();
+    private boolean finished;
+
+    /**
+     * Buffers a deposit into the account.
+     *
+     * @param account the account to deposit into
+     * @param amount  the amount to deposit
+     * @throws IllegalArgumentException if the account is null or the amount is not a positive finite number
+     * @throws IllegalStateException    if the transaction has already been committed
+     */
+    public void deposit(BankAccountExample account, double amount) {
+        if (!(amount > 0 && Double.isFinite(amount))) {
+            throw new IllegalArgumentException("Deposit amount must be positive.");
+        }
+        buffer(account, Operation.Type.DEPOSIT, amount);
+    }
+
+    /**
+     * Buffers a withdrawal from the account. Whether the funds are sufficient is checked at commit.
+     *
+     * @param account the account to withdraw from
+     * @param amount  the amount to withdraw
+     * @throws IllegalArgumentException if the account is null or the amount is not a positive finite number
+     * @throws IllegalStateException    if the transaction has already been committed
+     */
+    public void withdraw(BankAccountExample account, double amount) {
+        if (!(amount > 0 && Double.isFinite(amount))) {
+            throw new IllegalArgumentException("Withdrawal amount must be positive.");
+        }
+        buffer(account, Operation.Type.WITHDRAW, amount);
+    }
+
+    /**
+     * Returns the balance of the account as this transaction sees it: its snapshot balance
+     * with the buffered operations applied.
+     *
+     * @param account the account to read
+     * @return the balance seen by this transaction
+     * @throws IllegalArgumentException if the account is null
+     * @throws IllegalStateException    if the transaction has already been committed
+     */
+    public double getBalance(BankAccountExample account) {
+        double balance = snapshot(account).balance;
+        for (Operation operation : operations) {
+            if (operation.account == account) {
+                balance = operation.applyTo(balance);
+            }
+        }
+        return balance;
+    }
+
+    /**
+     * Applies all buffered operations atomically.
+     *
+     * @return true if the transaction committed, false if another update to one of its
+     * accounts happened since the snapshot was taken and nothing was applied
+     * @throws IllegalArgumentException if a withdrawal exceeds the balance at that point;
+     *                                  nothing is applied
+     * @throws IllegalStateException    if the transaction has already been committed
+     */
+    public boolean commit() {
+        requireActive();
+        finished = true;
+        List<BankAccountExample> accounts = new ArrayList<>(snapshots.keySet());
+        accounts.sort(LOCK_ORDER);
+        int locked = 0;
+        try {
+            for (BankAccountExample account : accounts) {
+                account.getLock().lock();
+                locked++;
+            }
+            return commitLocked();
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                accounts.get(i).getLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Runs a unit of work in a fresh transaction and commits it, retrying on conflicts.
+     *
+     * @param work        the operations to perform, which may be run several times
+     * @param maxAttempts the maximum number of attempts
+     * @return the number of attempts it took to commit
+     * @throws IllegalArgumentException if the attempts are not positive, or if a withdrawal
+     *                                  exceeds the balance
+     * @throws IllegalStateException    if every attempt conflicted
+     */
+    public static int run(Consumer<AccountTransaction> work, int maxAttempts) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("Maximum attempts must be positive.");
+        }
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            AccountTransaction transaction = new AccountTransaction();
+            work.accept(transaction);
+            if (transaction.commit()) {
+                return attempt;
+            }
+        }
+        throw new IllegalStateException("Transaction conflicted " + maxAttempts + " times.");
+    }
+
+    private boolean commitLocked() {
+        // All touched accounts are locked from here on.
+        for (Map.Entry<BankAccountExample, Snapshot> entry : snapshots.entrySet()) {
+            if (entry.getKey().getVersion() != entry.getValue().version) {
+                return false;
+            }
+        }
+        Map<BankAccountExample, Double> balances = new IdentityHashMap<>();
+        for (Operation operation : operations) {
+            double balance = balances.getOrDefault(operation.account, snapshots.get(operation.account).balance);
+            if (operation.type == Operation.Type.WITHDRAW && operation.amount > balance) {
+                throw new IllegalArgumentException("Insufficient funds.");
+            }
+            balances.put(operation.account, operation.applyTo(balance));
+        }
+        for (Operation operation : operations) {
+            if (operation.type == Operation.Type.DEPOSIT) {
+                operation.account.deposit(operation.amount);
+            } else {
+                operation.account.withdraw(operation.amount);
+            }
+        }
+        return true;
+    }
+
+    private void buffer(BankAccountExample account, Operation.Type type, double amount) {
+        snapshot(account);
+        operations.add(new Operation(account, type, amount));
+    }
+
+    private Snapshot snapshot(BankAccountExample account) {
+        requireActive();
+        if (account == null) {
+            throw new IllegalArgumentException("Account cannot be null.");
+        }
+        Snapshot snapshot = snapshots.get(account);
+        if (snapshot == null) {
+            account.getLock().lock();
+            try {
+                snapshot = new Snapshot(account.getBalance(), account.getVersion());
+            } finally {
+                account.getLock().unlock();
+            }
+            snapshots.put(account, snapshot);
+        }
+        return snapshot;
+    }
+
+    private void requireActive() {
+        if (finished) {
+            throw new IllegalStateException("Transaction has already been committed.");
+        }
+    }
+
+    private static class Snapshot {
+
+        private final double balance;
+        private final long version;
+
+        Snapshot(double balance, long version) {
+            this.balance = balance;
+            this.version = version;
+        }
+    }
+
+    private static class Operation {
+
+        private enum Type {
+            DEPOSIT,
+            WITHDRAW
+        }
+
+        private final BankAccountExample account;
+        private final Type type;
+        private final double amount;
+
+        Operation(BankAccountExample account, Type type, double amount) {
+            this.account = account;
+            this.type = type;
+            this.amount = amount;
+        }
+
+        double applyTo(double balance) {
+            return type == Type.DEPOSIT ? balance + amount : balance - amount;
+        }
+    }
+}
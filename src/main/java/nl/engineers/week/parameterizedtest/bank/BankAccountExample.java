@@ -1,9 +1,17 @@
 package nl.engineers.week.parameterizedtest.bank;
 
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
 public class BankAccountExample {
 
+    private static final AtomicLong NEXT_LOCK_ORDER = new AtomicLong();
+
     private final String accountNumber;
+    private final long lockOrder = NEXT_LOCK_ORDER.getAndIncrement();
+    private final ReentrantLock lock = new ReentrantLock();
     private double balance;
+    private long version;
 
     /**
      * Creates a new BankAccount with the given account number and initial balance.
@@ -29,7 +37,13 @@ public class BankAccountExample {
         if (amount <= 0) {
             throw new IllegalArgumentException("Deposit amount must be positive.");
         }
-        balance += amount;
+        lock.lock();
+        try {
+            balance += amount;
+            version++;
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -42,10 +56,16 @@ public class BankAccountExample {
         if (amount <= 0) {
             throw new IllegalArgumentException("Withdrawal amount must be positive.");
         }
-        if (amount > balance) {
-            throw new IllegalArgumentException("Insufficient funds.");
+        lock.lock();
+        try {
+            if (amount > balance) {
+                throw new IllegalArgumentException("Insufficient funds.");
+            }
+            balance -= amount;
+            version++;
+        } finally {
+            lock.unlock();
         }
-        balance -= amount;
     }
 
     /**
@@ -54,7 +74,46 @@ public class BankAccountExample {
      * @return the current balance
      */
     public double getBalance() {
-        return balance;
+        lock.lock();
+        try {
+            return balance;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the version of the balance, which increases with every deposit and withdrawal.
+     *
+     * @return the current version
+     */
+    public long getVersion() {
+        lock.lock();
+        try {
+            return version;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a number unique to this account instance, used to lock several accounts in a
+     * consistent order.
+     *
+     * @return the lock order
+     */
+    long getLockOrder() {
+        return lockOrder;
+    }
+
+    /**
+     * Returns the lock guarding the balance and version. It is reentrant, so a holder may
+     * still deposit and withdraw.
+     *
+     * @return the account lock
+     */
+    ReentrantLock getLock() {
+        return lock;
     }
 
     /**
@@ -0,0 +1,267 @@
+package nl.engineers.week.parameterizedtest.bank;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Struct-of-arrays store for many accounts.
+ * Account ids and balances live in two parallel primitive arrays, with balances kept as
+ * fixed-point cents, so that analytics scans walk contiguous memory instead of account objects.
+ * Deposits and withdrawals follow the same rules as {@link BankAccountExample}, and amounts
+ * must be whole cents so that no amount is silently rounded.
+ * <p>
+ * The store is not thread-safe; scans may run in parallel internally but must not overlap
+ * with updates.
+ */
+public class ColumnarAccountStore {
+
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final long CENTS_PER_UNIT = 100;
+    private static final int EMPTY = -1;
+
+    private long[] ids;
+    private long[] balances;
+    private int[] slots;
+    private int size;
+
+    /**
+     * Creates an empty store.
+     *
+     * @param initialCapacity the number of accounts to reserve space for
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public ColumnarAccountStore(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity cannot be negative.");
+        }
+        int capacity = Math.max(16, initialCapacity);
+        this.ids = new long[capacity];
+        this.balances = new long[capacity];
+        this.slots = newSlots(capacity);
+    }
+
+    /**
+     * Adds a new account to the store.
+     *
+     * @param accountId      the account id
+     * @param initialBalance the initial balance
+     * @throws IllegalArgumentException if the balance is negative or not whole cents,
+     *                                  or the id is already present
+     */
+    public void addAccount(long accountId, double initialBalance) {
+        if (initialBalance < 0) {
+            throw new IllegalArgumentException("Initial balance cannot be negative.");
+        }
+        long cents = toCents(initialBalance);
+        if (indexOf(accountId) != EMPTY) {
+            throw new IllegalArgumentException("Account already exists.");
+        }
+        if (size == ids.length) {
+            grow();
+        }
+        ids[size] = accountId;
+        balances[size] = cents;
+        insertSlot(accountId, size);
+        size++;
+    }
+
+    /**
+     * Deposits the specified amount into an account.
+     *
+     * @param accountId the account id
+     * @param amount    the amount to deposit
+     * @throws IllegalArgumentException if the amount is not positive or not whole cents,
+     *                                  or the account is unknown
+     */
+    public void deposit(long accountId, double amount) {
+        if (!(amount > 0)) {
+            throw new IllegalArgumentException("Deposit amount must be positive.");
+        }
+        balances[requireIndex(accountId)] += toCents(amount);
+    }
+
+    /**
+     * Withdraws the specified amount from an account.
+     *
+     * @param accountId the account id
+     * @param amount    the amount to withdraw
+     * @throws IllegalArgumentException if the amount is not positive, not whole cents,
+     *                                  exceeds the balance or the account is unknown
+     */
+    public void withdraw(long accountId, double amount) {
+        if (!(amount > 0)) {
+            throw new IllegalArgumentException("Withdrawal amount must be positive.");
+        }
+        int index = requireIndex(accountId);
+        long cents = toCents(amount);
+        if (cents > balances[index]) {
+            throw new IllegalArgumentException("Insufficient funds.");
+        }
+        balances[index] -= cents;
+    }
+
+    /**
+     * Returns the current balance of an account.
+     *
+     * @param accountId the account id
+     * @return the current balance
+     * @throws IllegalArgumentException if the account is unknown
+     */
+    public double getBalance(long accountId) {
+        return fromCents(balances[requireIndex(accountId)]);
+    }
+
+    /**
+     * Returns the number of accounts in the store.
+     *
+     * @return the number of accounts
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the sum of all balances.
+     *
+     * @return the total balance
+     */
+    public double totalBalance() {
+        return fromCents(range().mapToLong(i -> balances[i]).sum());
+    }
+
+    /**
+     * Counts the accounts whose balance is strictly below the threshold.
+     *
+     * @param threshold the balance threshold
+     * @return the number of matching accounts
+     */
+    public long countBelow(double threshold) {
+        long limit = centsAbove(threshold);
+        return range().filter(i -> balances[i] < limit).count();
+    }
+
+    /**
+     * Returns the ids of the accounts whose balance is strictly below the threshold.
+     *
+     * @param threshold the balance threshold
+     * @return the matching account ids, in insertion order
+     */
+    public long[] accountsBelow(double threshold) {
+        long limit = centsAbove(threshold);
+        return range().filter(i -> balances[i] < limit).mapToLong(i -> ids[i]).toArray();
+    }
+
+    /**
+     * Buckets the balances into a histogram of equal-width buckets starting at zero.
+     * Balances beyond the last bucket are counted in the last bucket.
+     *
+     * @param bucketWidth the width of each bucket
+     * @param buckets     the number of buckets
+     * @return the number of accounts in each bucket
+     * @throws IllegalArgumentException if the width or the number of buckets is not positive,
+     *                                  or the width is not whole cents
+     */
+    public long[] balanceHistogram(double bucketWidth, int buckets) {
+        if (bucketWidth <= 0 || buckets <= 0) {
+            throw new IllegalArgumentException("Bucket width and count must be positive.");
+        }
+        long width = toCents(bucketWidth);
+        return range().collect(() -> new long[buckets],
+                (counts, i) -> counts[(int) Math.min(buckets - 1, balances[i] / width)]++,
+                (left, right) -> {
+                    for (int b = 0; b < buckets; b++) {
+                        left[b] += right[b];
+                    }
+                });
+    }
+
+    private IntStream range() {
+        IntStream range = IntStream.range(0, size);
+        return size >= PARALLEL_THRESHOLD ? range.parallel() : range;
+    }
+
+    private int requireIndex(long accountId) {
+        int index = indexOf(accountId);
+        if (index == EMPTY) {
+            throw new IllegalArgumentException("Account not found.");
+        }
+        return index;
+    }
+
+    // Open-addressing id -> index table, kept at most half full.
+
+    private int indexOf(long accountId) {
+        int mask = slots.length - 1;
+        for (int slot = spread(accountId) & mask; slots[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (ids[slots[slot]] == accountId) {
+                return slots[slot];
+            }
+        }
+        return EMPTY;
+    }
+
+    private void insertSlot(long accountId, int index) {
+        int mask = slots.length - 1;
+        int slot = spread(accountId) & mask;
+        while (slots[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = index;
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        balances = Arrays.copyOf(balances, capacity);
+        slots = newSlots(capacity);
+        for (int i = 0; i < size; i++) {
+            insertSlot(ids[i], i);
+        }
+    }
+
+    private static int[] newSlots(int capacity) {
+        int[] slots = new int[Integer.highestOneBit(capacity - 1) << 2];
+        Arrays.fill(slots, EMPTY);
+        return slots;
+    }
+
+    private static int spread(long accountId) {
+        long hash = accountId * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ hash >>> 32);
+    }
+
+    private static long toCents(double amount) {
+        if (!Double.isFinite(amount)) {
+            throw new IllegalArgumentException("Amount must be a finite number.");
+        }
+        BigDecimal cents = BigDecimal.valueOf(amount).movePointRight(2);
+        if (cents.signum() != 0 && cents.stripTrailingZeros().scale() > 0) {
+            throw new IllegalArgumentException("Amount must be a whole number of cents.");
+        }
+        try {
+            return cents.longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount is too large.", e);
+        }
+    }
+
+    /**
+     * Returns the smallest number of cents that is not below the threshold, so that a balance
+     * in cents is below the threshold exactly when it is below the returned value.
+     */
+    private static long centsAbove(double threshold) {
+        if (Double.isNaN(threshold)) {
+            throw new IllegalArgumentException("Threshold must be a number.");
+        }
+        if (Double.isInfinite(threshold)) {
+            return threshold > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+        }
+        return BigDecimal.valueOf(threshold).movePointRight(2).setScale(0, RoundingMode.CEILING).longValue();
+    }
+
+    private static double fromCents(long cents) {
+        return (double) cents / CENTS_PER_UNIT;
+    }
+}
@@ -0,0 +1,115 @@
+package nl.engineers.week.parameterizedtest.library;
+
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Publisher that scans a list of books lazily and emits the matching ones as they are
+ * requested. Each subscriber gets its own scan; nothing is scanned ahead of demand, and
+ * cancelling stops the scan where it is. When the last match uses up the outstanding demand,
+ * completion is only signalled on the next request, once the rest of the scan finds nothing.
+ * <p>
+ * Books are emitted on the thread that calls {@link Flow.Subscription#request(long)}.
+ * The scanned list is read directly, so it must not be modified until the subscription
+ * completes or is cancelled.
+ */
+class BookPublisher implements Flow.Publisher<Book> {
+
+    private final List<Book> books;
+    private final Predicate<Book> filter;
+
+    /**
+     * Creates a new publisher.
+     *
+     * @param books  the books to scan
+     * @param filter the condition a book must meet to be emitted
+     */
+    BookPublisher(List<Book> books, Predicate<Book> filter) {
+        this.books = books;
+        this.filter = filter;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Book> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("Subscriber cannot be null.");
+        }
+        subscriber.onSubscribe(new ScanSubscription(subscriber));
+    }
+
+    private class ScanSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super Book> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private int index;
+
+        ScanSubscription(Flow.Subscriber<? super Book> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancelled = true;
+                subscriber.onError(new IllegalArgumentException("Requested amount must be positive."));
+                return;
+            }
+            requested.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private void drain() {
+            // Only one thread scans at a time; requests made while scanning, including
+            // re-entrant ones from onNext, are picked up by the running loop.
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                long emitted = 0;
+                long demand = requested.get();
+                while (emitted < demand && !cancelled) {
+                    Book next = nextMatch();
+                    if (next == null) {
+                        if (cancelled) {
+                            return;
+                        }
+                        cancelled = true;
+                        subscriber.onComplete();
+                        return;
+                    }
+                    subscriber.onNext(next);
+                    emitted++;
+                }
+                if (cancelled) {
+                    return;
+                }
+                if (emitted != 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private Book nextMatch() {
+            // Checking for cancellation per book lets another thread stop a long scan between matches.
+            while (index < books.size() && !cancelled) {
+                Book book = books.get(index++);
+                if (filter.test(book)) {
+                    return book;
+                }
+            }
+            return null;
+        }
+    }
+}
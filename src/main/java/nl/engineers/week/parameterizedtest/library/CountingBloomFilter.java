@@ -0,0 +1,170 @@
+package nl.engineers.week.parameterizedtest.library;
+
+/**
+ * Counting Bloom filter over strings.
+ * Each slot holds a small saturating counter instead of a single bit, so values can be removed
+ * again. A counter that saturates is never decremented, which keeps the filter free of false
+ * negatives at the cost of a slightly higher false-positive rate until it is rebuilt.
+ */
+public class CountingBloomFilter {
+
+    private static final int MAX_COUNT = 0xFF;
+
+    private final double falsePositiveRate;
+    private byte[] counters;
+    private int hashFunctions;
+    private int expectedInsertions;
+    private int size;
+
+    /**
+     * Creates a new filter sized for the given number of values and false-positive rate.
+     *
+     * @param expectedInsertions the number of values the filter is sized for
+     * @param falsePositiveRate  the target false-positive rate, between 0 and 1 exclusive
+     * @throws IllegalArgumentException if the insertions are not positive or the rate is out of range
+     */
+    public CountingBloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Expected insertions must be positive.");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1.");
+        }
+        this.falsePositiveRate = falsePositiveRate;
+        allocate(expectedInsertions);
+    }
+
+    /**
+     * Adds a value to the filter.
+     *
+     * @param value the value to add
+     */
+    public void add(String value) {
+        long hash = hash(value);
+        for (int i = 0; i < hashFunctions; i++) {
+            int slot = slot(hash, i);
+            if ((counters[slot] & MAX_COUNT) < MAX_COUNT) {
+                counters[slot]++;
+            }
+        }
+        size++;
+    }
+
+    /**
+     * Removes a value previously added to the filter.
+     * Removing a value that was never added may introduce false negatives.
+     *
+     * @param value the value to remove
+     */
+    public void remove(String value) {
+        long hash = hash(value);
+        for (int i = 0; i < hashFunctions; i++) {
+            int slot = slot(hash, i);
+            int count = counters[slot] & MAX_COUNT;
+            if (count > 0 && count < MAX_COUNT) {
+                counters[slot]--;
+            }
+        }
+        size--;
+    }
+
+    /**
+     * Checks whether a value may have been added.
+     *
+     * @param value the value to check
+     * @return false if the value was definitely not added, true if it might have been
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        for (int i = 0; i < hashFunctions; i++) {
+            if (counters[slot(hash, i)] == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Empties the filter and resizes it for the given number of values,
+     * keeping the configured false-positive rate.
+     *
+     * @param expectedInsertions the number of values the filter is sized for
+     */
+    public void reset(int expectedInsertions) {
+        allocate(Math.max(1, expectedInsertions));
+    }
+
+    /**
+     * Returns the number of values currently in the filter.
+     *
+     * @return the number of values
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of values the filter is currently sized for.
+     *
+     * @return the expected insertions
+     */
+    public int getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    /**
+     * Returns the configured target false-positive rate.
+     *
+     * @return the target false-positive rate
+     */
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    /**
+     * Estimates the false-positive rate for the current number of values.
+     *
+     * @return the estimated false-positive rate
+     */
+    public double estimatedFalsePositiveRate() {
+        double empty = Math.exp(-(double) hashFunctions * size / counters.length);
+        return Math.pow(1 - empty, hashFunctions);
+    }
+
+    /**
+     * Returns the memory taken by the counters.
+     *
+     * @return the footprint in bytes
+     */
+    public long footprintBytes() {
+        return counters.length;
+    }
+
+    private void allocate(int insertions) {
+        double ln2 = Math.log(2);
+        long slots = (long) Math.ceil(-insertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.counters = new byte[(int) Math.min(Integer.MAX_VALUE - 8, Math.max(64, slots))];
+        this.hashFunctions = Math.max(1, (int) Math.round((double) counters.length / insertions * ln2));
+        this.expectedInsertions = insertions;
+        this.size = 0;
+    }
+
+    private int slot(long hash, int i) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        return Math.floorMod(h1 + i * h2, counters.length);
+    }
+
+    private static long hash(String value) {
+        // 64-bit FNV-1a, split into two 32-bit hashes for double hashing.
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash | 1L << 32;
+    }
+}
@@ -0,0 +1,160 @@
+package nl.engineers.week.parameterizedtest.library;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BK-tree over the distinct, case-folded author names of a {@link Library}.
+ * Each node holds the books by one author and is linked to its children by the edit distance
+ * between the names, which lets a search skip every subtree that cannot be within the
+ * requested number of edits.
+ * <p>
+ * Authors whose last book is removed stay in the tree with an empty book list, because
+ * BK-tree nodes cannot be unlinked without rebuilding their subtree.
+ */
+class FuzzyAuthorIndex {
+
+    private final Map<String, Node> nodes = new HashMap<>();
+    private Node root;
+
+    /**
+     * Adds a book under its author.
+     *
+     * @param book the book to add
+     */
+    void add(Book book) {
+        String key = Library.foldCase(book.getAuthor());
+        Node existing = nodes.get(key);
+        if (existing != null) {
+            existing.books.add(book);
+            return;
+        }
+        Node added = new Node(key);
+        added.books.add(book);
+        nodes.put(key, added);
+        if (root == null) {
+            root = added;
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = distance(added.codePoints, node.codePoints);
+            Node child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, added);
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Removes a book from under its author.
+     *
+     * @param book the book to remove
+     */
+    void remove(Book book) {
+        Node node = nodes.get(Library.foldCase(book.getAuthor()));
+        if (node != null) {
+            node.books.remove(book);
+        }
+    }
+
+    /**
+     * Finds the books whose author is within the given number of edits of the name.
+     *
+     * @param name     the author name to search for
+     * @param maxEdits the maximum number of single-character insertions, deletions or substitutions
+     * @return the matching books, closest authors first
+     */
+    List<Book> search(String name, int maxEdits) {
+        String key = Library.foldCase(name);
+        if (maxEdits == 0) {
+            Node exact = nodes.get(key);
+            return exact == null ? new ArrayList<>() : new ArrayList<>(exact.books);
+        }
+        int[] codePoints = key.codePoints().toArray();
+        List<Match> matches = new ArrayList<>();
+        Deque<Node> pending = new ArrayDeque<>();
+        if (root != null) {
+            pending.push(root);
+        }
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            int distance = distance(codePoints, node.codePoints);
+            if (distance <= maxEdits && !node.books.isEmpty()) {
+                matches.add(new Match(distance, node));
+            }
+            // Triangle inequality: only children at distance - maxEdits .. distance + maxEdits can match.
+            for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                if (Math.abs(child.getKey() - distance) <= maxEdits) {
+                    pending.push(child.getValue());
+                }
+            }
+        }
+        matches.sort(Comparator.comparingInt((Match match) -> match.distance)
+                .thenComparing(match -> match.node.key));
+        List<Book> result = new ArrayList<>();
+        for (Match match : matches) {
+            result.addAll(match.node.books);
+        }
+        return result;
+    }
+
+    /**
+     * Computes the Levenshtein distance between two strings given as code points, so that a
+     * supplementary character counts as a single character.
+     *
+     * @param a the code points of the first string
+     * @param b the code points of the second string
+     * @return the number of single-character edits turning a into b
+     */
+    static int distance(int[] a, int[] b) {
+        int[] previous = new int[b.length + 1];
+        int[] current = new int[b.length + 1];
+        for (int j = 0; j <= b.length; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length; i++) {
+            current[0] = i;
+            int ca = a[i - 1];
+            for (int j = 1; j <= b.length; j++) {
+                int substitution = previous[j - 1] + (ca == b[j - 1] ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length];
+    }
+
+    private static class Node {
+
+        private final String key;
+        private final int[] codePoints;
+        private final List<Book> books = new ArrayList<>(1);
+        private final Map<Integer, Node> children = new HashMap<>(4);
+
+        Node(String key) {
+            this.key = key;
+            this.codePoints = key.codePoints().toArray();
+        }
+    }
+
+    private static class Match {
+
+        private final int distance;
+        private final Node node;
+
+        Match(int distance, Node node) {
+            this.distance = distance;
+            this.node = node;
+        }
+    }
+}
@@ -2,10 +2,56 @@ package nl.engineers.week.parameterizedtest.library;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Flow;
 
 public class Library {
 
-    private final List<Book> books = new ArrayList<>();
+    private final ArrayList<Book> books = new ArrayList<>();
+    private final LibrarySearchCache searchCache;
+    private final LibraryLookupFilter lookupFilter;
+    private final LibraryChangeLog changeLog;
+    private FuzzyAuthorIndex authorIndex;
+
+    /**
+     * Creates an empty library without a search cache.
+     */
+    public Library() {
+        this(null);
+    }
+
+    /**
+     * Creates an empty library whose searches are served through the given cache.
+     *
+     * @param searchCache the cache for search results, or null to disable caching
+     */
+    public Library(LibrarySearchCache searchCache) {
+        this(searchCache, null);
+    }
+
+    /**
+     * Creates an empty library with an optional search cache and an optional lookup filter
+     * that answers searches for unknown titles and authors without scanning the books.
+     *
+     * @param searchCache  the cache for search results, or null to disable caching
+     * @param lookupFilter the filter for negative lookups, or null to disable it
+     */
+    public Library(LibrarySearchCache searchCache, LibraryLookupFilter lookupFilter) {
+        this(searchCache, lookupFilter, null);
+    }
+
+    /**
+     * Creates an empty library with an optional search cache, an optional lookup filter and
+     * an optional change log that records every added and removed book for replicas.
+     *
+     * @param searchCache  the cache for search results, or null to disable caching
+     * @param lookupFilter the filter for negative lookups, or null to disable it
+     * @param changeLog    the log to record changes in, or null to disable it
+     */
+    public Library(LibrarySearchCache searchCache, LibraryLookupFilter lookupFilter, LibraryChangeLog changeLog) {
+        this.searchCache = searchCache;
+        this.lookupFilter = lookupFilter;
+        this.changeLog = changeLog;
+    }
 
     /**
      * Adds a book to the library.
@@ -18,6 +64,18 @@ public class Library {
             throw new IllegalArgumentException("Book cannot be null.");
         }
         books.add(book);
+        if (searchCache != null) {
+            searchCache.invalidate(book);
+        }
+        if (lookupFilter != null) {
+            lookupFilter.add(book);
+        }
+        if (changeLog != null) {
+            changeLog.recordAdd(book);
+        }
+        if (authorIndex != null) {
+            authorIndex.add(book);
+        }
     }
 
     /**
@@ -31,6 +89,18 @@ public class Library {
             throw new IllegalArgumentException("Book not found in the library.");
         }
         books.remove(book);
+        if (searchCache != null) {
+            searchCache.invalidate(book);
+        }
+        if (lookupFilter != null) {
+            lookupFilter.remove(book);
+        }
+        if (changeLog != null) {
+            changeLog.recordRemove(book);
+        }
+        if (authorIndex != null) {
+            authorIndex.remove(book);
+        }
     }
 
     /**
@@ -40,12 +110,24 @@ public class Library {
      * @return a list of books with the matching title
      */
     public List<Book> searchByTitle(String title) {
+        if (lookupFilter != null && !lookupFilter.mightContainTitle(title)) {
+            return new ArrayList<>();
+        }
+        if (searchCache != null) {
+            List<Book> cached = searchCache.get(LibrarySearchCache.Field.TITLE, title);
+            if (cached != null) {
+                return cached;
+            }
+        }
         List<Book> result = new ArrayList<>();
         for (Book book : books) {
             if (book.getTitle().equalsIgnoreCase(title)) {
                 result.add(book);
             }
         }
+        if (searchCache != null) {
+            searchCache.put(LibrarySearchCache.Field.TITLE, title, result);
+        }
         return result;
     }
 
@@ -56,15 +138,52 @@ public class Library {
      * @return a list of books by the matching author
      */
     public List<Book> searchByAuthor(String author) {
+        if (lookupFilter != null && !lookupFilter.mightContainAuthor(author)) {
+            return new ArrayList<>();
+        }
+        if (searchCache != null) {
+            List<Book> cached = searchCache.get(LibrarySearchCache.Field.AUTHOR, author);
+            if (cached != null) {
+                return cached;
+            }
+        }
         List<Book> result = new ArrayList<>();
         for (Book book : books) {
             if (book.getAuthor().equalsIgnoreCase(author)) {
                 result.add(book);
             }
         }
+        if (searchCache != null) {
+            searchCache.put(LibrarySearchCache.Field.AUTHOR, author, result);
+        }
         return result;
     }
 
+    /**
+     * Searches for books whose author is within the given number of edits of the name,
+     * ignoring case. The author index is built on the first call and kept up to date afterwards.
+     *
+     * @param name     the author name to search for
+     * @param maxEdits the maximum number of single-character insertions, deletions or substitutions
+     * @return a list of matching books, ranked by the edit distance of their author
+     * @throws IllegalArgumentException if maxEdits is negative
+     */
+    public List<Book> searchByAuthorFuzzy(String name, int maxEdits) {
+        if (maxEdits < 0) {
+            throw new IllegalArgumentException("Maximum edits cannot be negative.");
+        }
+        if (name == null) {
+            return new ArrayList<>();
+        }
+        if (authorIndex == null) {
+            authorIndex = new FuzzyAuthorIndex();
+            for (Book book : books) {
+                authorIndex.add(book);
+            }
+        }
+        return authorIndex.search(name, maxEdits);
+    }
+
     /**
      * Returns the list of all books in the library.
      *
@@ -73,4 +192,71 @@ public class Library {
     public List<Book> getAllBooks() {
         return new ArrayList<>(books);
     }
-}
\ No newline at end of file
+
+    /**
+     * Publishes the books with a matching title as they are found, scanning only as far as
+     * the subscriber's demand requires. The library must not be modified until the
+     * subscription completes or is cancelled.
+     *
+     * @param title the title to search for
+     * @return a publisher of books with the matching title
+     */
+    public Flow.Publisher<Book> publishByTitle(String title) {
+        if (lookupFilter != null && !lookupFilter.mightContainTitle(title)) {
+            return new BookPublisher(List.of(), book -> false);
+        }
+        return new BookPublisher(books, book -> book.getTitle().equalsIgnoreCase(title));
+    }
+
+    /**
+     * Publishes the books by a matching author as they are found, scanning only as far as
+     * the subscriber's demand requires. The library must not be modified until the
+     * subscription completes or is cancelled.
+     *
+     * @param author the author to search for
+     * @return a publisher of books by the matching author
+     */
+    public Flow.Publisher<Book> publishByAuthor(String author) {
+        if (lookupFilter != null && !lookupFilter.mightContainAuthor(author)) {
+            return new BookPublisher(List.of(), book -> false);
+        }
+        return new BookPublisher(books, book -> book.getAuthor().equalsIgnoreCase(author));
+    }
+
+    /**
+     * Publishes all books in the library as they are requested. The library must not be
+     * modified until the subscription completes or is cancelled.
+     *
+     * @return a publisher of all books
+     */
+    public Flow.Publisher<Book> publishAllBooks() {
+        return new BookPublisher(books, book -> true);
+    }
+
+    /**
+     * Releases unused storage after many removals and rebuilds the lookup filter,
+     * resizing it if the library has grown past the size it was created for.
+     * The fuzzy author index is dropped and rebuilt on the next fuzzy search.
+     */
+    public void compact() {
+        books.trimToSize();
+        authorIndex = null;
+        if (lookupFilter != null) {
+            lookupFilter.rebuild(books);
+        }
+    }
+
+    /**
+     * Folds the case of a search key the same way {@link String#equalsIgnoreCase} compares
+     * code points, so that two keys fold to the same string exactly when they match.
+     *
+     * @param value the value to fold
+     * @return the case-folded value
+     */
+    static String foldCase(String value) {
+        int[] folded = value.codePoints()
+                .map(codePoint -> Character.toLowerCase(Character.toUpperCase(codePoint)))
+                .toArray();
+        return new String(folded, 0, folded.length);
+    }
+}
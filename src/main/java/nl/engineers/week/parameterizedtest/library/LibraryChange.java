@@ -0,0 +1,79 @@
+package nl.engineers.week.parameterizedtest.library;
+
+/**
+ * A single sequence-numbered change to the contents of a {@link Library}.
+ */
+public class LibraryChange {
+
+    /**
+     * The kind of change.
+     */
+    public enum Type {
+        ADD,
+        REMOVE
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final Book book;
+
+    /**
+     * Creates a new change.
+     *
+     * @param sequence the sequence number of the change, starting at 1
+     * @param type     the kind of change
+     * @param book     the book that was added or removed
+     * @throws IllegalArgumentException if the sequence is not positive or the type or book is null
+     */
+    public LibraryChange(long sequence, Type type, Book book) {
+        if (sequence <= 0) {
+            throw new IllegalArgumentException("Sequence must be positive.");
+        }
+        if (type == null || book == null) {
+            throw new IllegalArgumentException("Type and book cannot be null.");
+        }
+        this.sequence = sequence;
+        this.type = type;
+        this.book = book;
+    }
+
+    /**
+     * Returns the sequence number of the change.
+     *
+     * @return the sequence number
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns the kind of change.
+     *
+     * @return the type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the book that was added or removed.
+     *
+     * @return the book
+     */
+    public Book getBook() {
+        return book;
+    }
+
+    /**
+     * Applies the change to the given library.
+     *
+     * @param library the library to change
+     */
+    public void applyTo(Library library) {
+        if (type == Type.ADD) {
+            library.addBook(book);
+        } else {
+            library.removeBook(book);
+        }
+    }
+}
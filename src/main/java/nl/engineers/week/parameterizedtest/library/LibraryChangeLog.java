@@ -0,0 +1,194 @@
+package nl.engineers.week.parameterizedtest.library;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only, sequence-numbered log of the books added to and removed from a {@link Library}.
+ * Sequence numbers start at 1 and increase by one per change, so a replica only needs to
+ * remember the last sequence number it applied to catch up.
+ * <p>
+ * The log also acts as an in-process {@link LibraryChangeSource}, and its methods are
+ * synchronized so replicas may pull from other threads.
+ */
+public class LibraryChangeLog implements LibraryChangeSource {
+
+    private final List<LibraryChange> changes = new ArrayList<>();
+    private long firstSequence = 1;
+
+    /**
+     * Records that a book was added.
+     *
+     * @param book the added book
+     * @return the recorded change
+     */
+    public synchronized LibraryChange recordAdd(Book book) {
+        return record(LibraryChange.Type.ADD, book);
+    }
+
+    /**
+     * Records that a book was removed.
+     *
+     * @param book the removed book
+     * @return the recorded change
+     */
+    public synchronized LibraryChange recordRemove(Book book) {
+        return record(LibraryChange.Type.REMOVE, book);
+    }
+
+    /**
+     * Returns the sequence number of the latest change, or 0 if nothing was recorded.
+     *
+     * @return the last sequence number
+     */
+    public synchronized long lastSequence() {
+        return firstSequence + changes.size() - 1;
+    }
+
+    /**
+     * Returns the changes that follow the given sequence number.
+     *
+     * @param afterSequence the last sequence number the caller has applied, or 0 for none
+     * @param maxChanges    the maximum number of changes to return
+     * @return the following changes in sequence order, possibly none
+     * @throws IllegalArgumentException if the sequence is negative or beyond the log,
+     *                                  or the maximum is not positive
+     * @throws IllegalStateException    if some of the following changes have been truncated
+     */
+    public synchronized List<LibraryChange> changesSince(long afterSequence, int maxChanges) {
+        if (afterSequence < 0 || afterSequence > lastSequence()) {
+            throw new IllegalArgumentException("Sequence is outside the log.");
+        }
+        if (maxChanges <= 0) {
+            throw new IllegalArgumentException("Maximum changes must be positive.");
+        }
+        if (afterSequence < firstSequence - 1) {
+            throw new IllegalStateException("Changes before sequence " + firstSequence + " have been truncated.");
+        }
+        int from = (int) (afterSequence + 1 - firstSequence);
+        int to = Math.min(changes.size(), from + maxChanges);
+        return new ArrayList<>(changes.subList(from, to));
+    }
+
+    /**
+     * Discards all changes up to and including the given sequence number, once every replica
+     * has applied them.
+     *
+     * @param sequence the last sequence number to discard
+     */
+    public synchronized void truncateThrough(long sequence) {
+        int count = (int) Math.min(changes.size(), Math.max(0, sequence - firstSequence + 1));
+        changes.subList(0, count).clear();
+        firstSequence += count;
+    }
+
+    @Override
+    public byte[] fetch(long afterSequence, int maxChanges) {
+        return encode(changesSince(afterSequence, maxChanges));
+    }
+
+    /**
+     * Encodes a batch of consecutive changes.
+     * The batch is written as a varint count and the varint sequence number of the first
+     * change, followed by a type byte and two length-prefixed UTF-8 strings per change.
+     *
+     * @param batch the changes to encode, in sequence order without gaps
+     * @return the encoded batch
+     * @throws IllegalArgumentException if the batch has gaps in its sequence numbers
+     */
+    public static byte[] encode(List<LibraryChange> batch) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeVarLong(out, batch.size());
+        if (!batch.isEmpty()) {
+            long firstSequence = batch.get(0).getSequence();
+            writeVarLong(out, firstSequence);
+            for (int i = 0; i < batch.size(); i++) {
+                LibraryChange change = batch.get(i);
+                if (change.getSequence() != firstSequence + i) {
+                    throw new IllegalArgumentException("Batch sequence numbers must be consecutive.");
+                }
+                out.write(change.getType().ordinal());
+                writeString(out, change.getBook().getTitle());
+                writeString(out, change.getBook().getAuthor());
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a batch written by {@link #encode}.
+     *
+     * @param data the encoded batch
+     * @return the decoded changes
+     * @throws IllegalArgumentException if the data is malformed
+     */
+    public static List<LibraryChange> decode(byte[] data) {
+        int[] position = {0};
+        try {
+            long count = readVarLong(data, position);
+            if (count < 0 || count > data.length) {
+                throw new IllegalArgumentException("Malformed change count in change batch.");
+            }
+            List<LibraryChange> batch = new ArrayList<>((int) count);
+            if (count > 0) {
+                long sequence = readVarLong(data, position);
+                LibraryChange.Type[] types = LibraryChange.Type.values();
+                for (int i = 0; i < count; i++) {
+                    LibraryChange.Type type = types[data[position[0]++]];
+                    Book book = new Book(readString(data, position), readString(data, position));
+                    batch.add(new LibraryChange(sequence + i, type, book));
+                }
+            }
+            if (position[0] != data.length) {
+                throw new IllegalArgumentException("Trailing bytes after change batch.");
+            }
+            return batch;
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Malformed change batch.", e);
+        }
+    }
+
+    private LibraryChange record(LibraryChange.Type type, Book book) {
+        LibraryChange change = new LibraryChange(lastSequence() + 1, type, book);
+        changes.add(change);
+        return change;
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(byte[] data, int[] position) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = data[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in change batch.");
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static String readString(byte[] data, int[] position) {
+        int length = (int) readVarLong(data, position);
+        if (length < 0 || length > data.length - position[0]) {
+            throw new IllegalArgumentException("Malformed string in change batch.");
+        }
+        String value = new String(data, position[0], length, StandardCharsets.UTF_8);
+        position[0] += length;
+        return value;
+    }
+}
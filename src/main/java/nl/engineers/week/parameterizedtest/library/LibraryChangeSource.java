@@ -0,0 +1,17 @@
+package nl.engineers.week.parameterizedtest.library;
+
+/**
+ * Transport that serves encoded batches of {@link LibraryChange}s to replicas.
+ */
+public interface LibraryChangeSource {
+
+    /**
+     * Fetches the changes that follow the given sequence number.
+     *
+     * @param afterSequence the last sequence number the caller has applied, or 0 for none
+     * @param maxChanges    the maximum number of changes to return
+     * @return the changes encoded with {@link LibraryChangeLog#encode}, possibly none
+     * @throws IllegalStateException if changes after the sequence number are no longer available
+     */
+    byte[] fetch(long afterSequence, int maxChanges);
+}
@@ -0,0 +1,102 @@
+package nl.engineers.week.parameterizedtest.library;
+
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Per-field counting Bloom filters that let a {@link Library} answer searches for unknown
+ * titles and authors without scanning its books.
+ */
+public class LibraryLookupFilter {
+
+    private final CountingBloomFilter titles;
+    private final CountingBloomFilter authors;
+
+    /**
+     * Creates a new lookup filter.
+     *
+     * @param expectedBooks     the number of books the filters are sized for
+     * @param falsePositiveRate the target false-positive rate of each filter
+     * @throws IllegalArgumentException if the books are not positive or the rate is out of range
+     */
+    public LibraryLookupFilter(int expectedBooks, double falsePositiveRate) {
+        this.titles = new CountingBloomFilter(expectedBooks, falsePositiveRate);
+        this.authors = new CountingBloomFilter(expectedBooks, falsePositiveRate);
+    }
+
+    /**
+     * Records a book that was added to the library.
+     *
+     * @param book the added book
+     */
+    public void add(Book book) {
+        titles.add(Library.foldCase(book.getTitle()));
+        authors.add(Library.foldCase(book.getAuthor()));
+    }
+
+    /**
+     * Records a book that was removed from the library.
+     *
+     * @param book the removed book
+     */
+    public void remove(Book book) {
+        titles.remove(Library.foldCase(book.getTitle()));
+        authors.remove(Library.foldCase(book.getAuthor()));
+    }
+
+    /**
+     * Checks whether a book with the given title may be in the library.
+     *
+     * @param title the title to check
+     * @return false if no book has this title, true if one might
+     */
+    public boolean mightContainTitle(String title) {
+        return title != null && titles.mightContain(Library.foldCase(title));
+    }
+
+    /**
+     * Checks whether a book by the given author may be in the library.
+     *
+     * @param author the author to check
+     * @return false if no book has this author, true if one might
+     */
+    public boolean mightContainAuthor(String author) {
+        return author != null && authors.mightContain(Library.foldCase(author));
+    }
+
+    /**
+     * Rebuilds both filters from the given books, growing them if the library
+     * has outgrown the size they were created for.
+     *
+     * @param books the books currently in the library
+     */
+    public void rebuild(Collection<Book> books) {
+        int expectedBooks = Math.max(titles.getExpectedInsertions(), books.size());
+        titles.reset(expectedBooks);
+        authors.reset(expectedBooks);
+        for (Book book : books) {
+            add(book);
+        }
+    }
+
+    /**
+     * Returns the memory taken by both filters.
+     *
+     * @return the footprint in bytes
+     */
+    public long footprintBytes() {
+        return titles.footprintBytes() + authors.footprintBytes();
+    }
+
+    /**
+     * Returns a one-line summary of the size and accuracy of both filters.
+     *
+     * @return the footprint report
+     */
+    public String footprintReport() {
+        return String.format(Locale.ROOT,
+                "titles: %d bytes, %d values, fpp %.4f; authors: %d bytes, %d values, fpp %.4f",
+                titles.footprintBytes(), titles.size(), titles.estimatedFalsePositiveRate(),
+                authors.footprintBytes(), authors.size(), authors.estimatedFalsePositiveRate());
+    }
+}
@@ -0,0 +1,87 @@
+package nl.engineers.week.parameterizedtest.library;
+
+import java.util.List;
+
+/**
+ * Read replica of a {@link Library} that catches up by pulling batches of changes from a
+ * {@link LibraryChangeSource}. Catching up costs time proportional to the number of missed
+ * changes, not to the size of the catalogue.
+ */
+public class LibraryReplica {
+
+    private final Library library;
+    private long appliedSequence;
+
+    /**
+     * Creates a replica that starts from an empty library and applies changes from the
+     * beginning of the log.
+     */
+    public LibraryReplica() {
+        this(new Library(), 0);
+    }
+
+    /**
+     * Creates a replica from an existing copy of the catalogue.
+     *
+     * @param library         the copy of the catalogue
+     * @param appliedSequence the sequence number the copy is up to date with
+     * @throws IllegalArgumentException if the library is null or the sequence is negative
+     */
+    public LibraryReplica(Library library, long appliedSequence) {
+        if (library == null) {
+            throw new IllegalArgumentException("Library cannot be null.");
+        }
+        if (appliedSequence < 0) {
+            throw new IllegalArgumentException("Applied sequence cannot be negative.");
+        }
+        this.library = library;
+        this.appliedSequence = appliedSequence;
+    }
+
+    /**
+     * Pulls and applies batches of changes until the replica is up to date with the source.
+     *
+     * @param source    the source to pull changes from
+     * @param batchSize the maximum number of changes per batch
+     * @return the number of changes applied
+     * @throws IllegalStateException if the source no longer has the changes this replica needs
+     *                               or sends a batch that does not follow on from it
+     */
+    public long catchUp(LibraryChangeSource source, int batchSize) {
+        long applied = 0;
+        while (true) {
+            List<LibraryChange> batch = LibraryChangeLog.decode(source.fetch(appliedSequence, batchSize));
+            if (batch.isEmpty()) {
+                return applied;
+            }
+            if (batch.get(0).getSequence() != appliedSequence + 1) {
+                throw new IllegalStateException("Expected change " + (appliedSequence + 1)
+                        + " but received " + batch.get(0).getSequence() + ".");
+            }
+            for (LibraryChange change : batch) {
+                change.applyTo(library);
+                appliedSequence++;
+                applied++;
+            }
+        }
+    }
+
+    /**
+     * Returns the sequence number of the last applied change.
+     *
+     * @return the applied sequence number
+     */
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    /**
+     * Returns the replicated library. It should only be read; local changes are not
+     * reconciled with the source.
+     *
+     * @return the replicated library
+     */
+    public Library getLibrary() {
+        return library;
+    }
+}
@@ -0,0 +1,177 @@
+package nl.engineers.week.parameterizedtest.library;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache for {@link Library} search results.
+ * Entries are keyed on the searched field and the case-folded query, and are evicted in
+ * least-recently-used order once either the entry count or the total weight (the number of
+ * cached books) exceeds its limit.
+ */
+public class LibrarySearchCache {
+
+    /**
+     * The book field a cached query was run against.
+     */
+    public enum Field {
+        TITLE,
+        AUTHOR
+    }
+
+    private final int maxEntries;
+    private final long maxWeight;
+    private final LinkedHashMap<String, List<Book>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long weight;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Creates a new cache with the given bounds.
+     *
+     * @param maxEntries the maximum number of cached queries
+     * @param maxWeight  the maximum number of books held across all cached results
+     * @throws IllegalArgumentException if either bound is not positive
+     */
+    public LibrarySearchCache(int maxEntries, long maxWeight) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Maximum entries must be positive.");
+        }
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("Maximum weight must be positive.");
+        }
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Returns a copy of the cached result for the given query, or null if it is not cached.
+     *
+     * @param field the searched field
+     * @param query the query as passed to the search method
+     * @return a copy of the cached result, or null on a miss
+     */
+    public List<Book> get(Field field, String query) {
+        List<Book> cached = entries.get(key(field, query));
+        if (cached == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return new ArrayList<>(cached);
+    }
+
+    /**
+     * Caches the result of a query, evicting least-recently-used entries as needed.
+     * Results heavier than the weight bound are not cached.
+     *
+     * @param field  the searched field
+     * @param query  the query as passed to the search method
+     * @param result the search result
+     */
+    public void put(Field field, String query, List<Book> result) {
+        long resultWeight = weigh(result);
+        if (resultWeight > maxWeight) {
+            return;
+        }
+        List<Book> previous = entries.put(key(field, query), new ArrayList<>(result));
+        if (previous != null) {
+            weight -= weigh(previous);
+        }
+        weight += resultWeight;
+        evictIfNeeded();
+    }
+
+    /**
+     * Drops every cached result the given book could be part of.
+     *
+     * @param book the book that was added or removed
+     */
+    public void invalidate(Book book) {
+        invalidate(Field.TITLE, book.getTitle());
+        invalidate(Field.AUTHOR, book.getAuthor());
+    }
+
+    /**
+     * Removes all cached results. Statistics are kept.
+     */
+    public void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * Returns the number of cached queries.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of books held across all cached results.
+     *
+     * @return the current weight
+     */
+    public long weight() {
+        return weight;
+    }
+
+    /**
+     * Returns the number of lookups answered from the cache.
+     *
+     * @return the hit count
+     */
+    public long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of lookups that were not cached.
+     *
+     * @return the miss count
+     */
+    public long missCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of entries evicted to stay within the bounds.
+     *
+     * @return the eviction count
+     */
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    private void invalidate(Field field, String query) {
+        List<Book> removed = entries.remove(key(field, query));
+        if (removed != null) {
+            weight -= weigh(removed);
+        }
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, List<Book>>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || weight > maxWeight) && eldest.hasNext()) {
+            weight -= weigh(eldest.next().getValue());
+            eldest.remove();
+            evictionCount++;
+        }
+    }
+
+    private static long weigh(List<Book> result) {
+        // Count the entry itself so that empty results still occupy space.
+        return result.size() + 1L;
+    }
+
+    private static String key(Field field, String query) {
+        return field.name() + ':' + (query == null ? "" : Library.foldCase(query));
+    }
+}
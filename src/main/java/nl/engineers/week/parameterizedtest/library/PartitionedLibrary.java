@@ -0,0 +1,187 @@
+package nl.engineers.week.parameterizedtest.library;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Library that hash-partitions its books across several {@link Library} shards and runs
+ * searches on all shards in parallel, merging the results.
+ * Books are routed on their case-folded title and author, so equal books always land in the
+ * same shard and additions and removals touch a single shard.
+ * <p>
+ * Searches may run concurrently with each other; additions and removals wait for running
+ * searches to finish.
+ */
+public class PartitionedLibrary {
+
+    private final Library[] shards;
+    private final Executor executor;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Creates an empty partitioned library that searches on the common fork-join pool.
+     *
+     * @param shardCount the number of shards
+     * @throws IllegalArgumentException if the shard count is not positive
+     */
+    public PartitionedLibrary(int shardCount) {
+        this(shardCount, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an empty partitioned library that searches on the given executor,
+     * for example a fork-join pool or a virtual-thread-per-task executor.
+     *
+     * @param shardCount the number of shards
+     * @param executor   the executor to run shard searches on
+     * @throws IllegalArgumentException if the shard count is not positive or the executor is null
+     */
+    public PartitionedLibrary(int shardCount, Executor executor) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive.");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null.");
+        }
+        this.shards = new Library[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Library();
+        }
+        this.executor = executor;
+    }
+
+    /**
+     * Adds a book to the shard it hashes to.
+     *
+     * @param book the book to add
+     * @throws IllegalArgumentException if the book is null
+     */
+    public void addBook(Book book) {
+        if (book == null) {
+            throw new IllegalArgumentException("Book cannot be null.");
+        }
+        lock.writeLock().lock();
+        try {
+            shardFor(book).addBook(book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a book from the shard it hashes to.
+     *
+     * @param book the book to remove
+     * @throws IllegalArgumentException if the book is not in the library
+     */
+    public void removeBook(Book book) {
+        if (book == null) {
+            throw new IllegalArgumentException("Book not found in the library.");
+        }
+        lock.writeLock().lock();
+        try {
+            shardFor(book).removeBook(book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches all shards for books by title.
+     *
+     * @param title the title to search for
+     * @return a list of books with the matching title, grouped by shard
+     */
+    public List<Book> searchByTitle(String title) {
+        return scatterGather(shard -> shard.searchByTitle(title), null);
+    }
+
+    /**
+     * Searches all shards for books by title and sorts the merged result.
+     *
+     * @param title the title to search for
+     * @param order the order of the result
+     * @return a sorted list of books with the matching title
+     */
+    public List<Book> searchByTitle(String title, Comparator<Book> order) {
+        return scatterGather(shard -> shard.searchByTitle(title), order);
+    }
+
+    /**
+     * Searches all shards for books by author.
+     *
+     * @param author the author to search for
+     * @return a list of books by the matching author, grouped by shard
+     */
+    public List<Book> searchByAuthor(String author) {
+        return scatterGather(shard -> shard.searchByAuthor(author), null);
+    }
+
+    /**
+     * Searches all shards for books by author and sorts the merged result.
+     *
+     * @param author the author to search for
+     * @param order  the order of the result
+     * @return a sorted list of books by the matching author
+     */
+    public List<Book> searchByAuthor(String author, Comparator<Book> order) {
+        return scatterGather(shard -> shard.searchByAuthor(author), order);
+    }
+
+    /**
+     * Returns the list of all books across all shards.
+     *
+     * @return the list of books, grouped by shard
+     */
+    public List<Book> getAllBooks() {
+        return scatterGather(Library::getAllBooks, null);
+    }
+
+    /**
+     * Returns the number of shards.
+     *
+     * @return the shard count
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    private List<Book> scatterGather(Function<Library, List<Book>> search, Comparator<Book> order) {
+        List<Book> result;
+        lock.readLock().lock();
+        try {
+            if (shards.length == 1) {
+                result = search.apply(shards[0]);
+            } else {
+                List<CompletableFuture<List<Book>>> futures = new ArrayList<>(shards.length);
+                for (Library shard : shards) {
+                    futures.add(CompletableFuture.supplyAsync(() -> search.apply(shard), executor));
+                }
+                result = new ArrayList<>();
+                for (CompletableFuture<List<Book>> future : futures) {
+                    result.addAll(future.join());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (order != null) {
+            result.sort(order);
+        }
+        return result;
+    }
+
+    private Library shardFor(Book book) {
+        // Book.hashCode folds case with the default locale, which can disagree with equals;
+        // route on the same folding equalsIgnoreCase uses instead.
+        int hash = 31 * Library.foldCase(book.getTitle()).hashCode() + Library.foldCase(book.getAuthor()).hashCode();
+        return shards[Math.floorMod(hash, shards.length)];
+    }
+}
@@ -0,0 +1,71 @@
+package nl.engineers.week.parameterizedtest.library;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Registry of independent per-tenant catalogues, each a {@link PartitionedLibrary} with its
+ * own shard count. All tenants share one executor for their shard searches.
+ */
+public class TenantLibraries {
+
+    private final Map<String, PartitionedLibrary> libraries = new ConcurrentHashMap<>();
+    private final Executor executor;
+
+    /**
+     * Creates an empty registry.
+     *
+     * @param executor the executor to run shard searches on
+     * @throws IllegalArgumentException if the executor is null
+     */
+    public TenantLibraries(Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null.");
+        }
+        this.executor = executor;
+    }
+
+    /**
+     * Creates the catalogue of a new tenant.
+     *
+     * @param tenant     the tenant id
+     * @param shardCount the number of shards for this tenant
+     * @return the tenant's catalogue
+     * @throws IllegalArgumentException if the tenant already exists or the shard count is not positive
+     */
+    public PartitionedLibrary register(String tenant, int shardCount) {
+        PartitionedLibrary library = new PartitionedLibrary(shardCount, executor);
+        if (libraries.putIfAbsent(tenant, library) != null) {
+            throw new IllegalArgumentException("Tenant already registered.");
+        }
+        return library;
+    }
+
+    /**
+     * Returns the catalogue of a tenant.
+     *
+     * @param tenant the tenant id
+     * @return the tenant's catalogue
+     * @throws IllegalArgumentException if the tenant is not registered
+     */
+    public PartitionedLibrary get(String tenant) {
+        PartitionedLibrary library = libraries.get(tenant);
+        if (library == null) {
+            throw new IllegalArgumentException("Tenant not found.");
+        }
+        return library;
+    }
+
+    /**
+     * Removes a tenant and its catalogue.
+     *
+     * @param tenant the tenant id
+     * @throws IllegalArgumentException if the tenant is not registered
+     */
+    public void remove(String tenant) {
+        if (libraries.remove(tenant) == null) {
+            throw new IllegalArgumentException("Tenant not found.");
+        }
+    }
+}
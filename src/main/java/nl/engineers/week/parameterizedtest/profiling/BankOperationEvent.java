@@ -0,0 +1,30 @@
+package nl.engineers.week.parameterizedtest.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event covering a single {@link nl.engineers.week.parameterizedtest.bank.BankAccountExample} operation.
+ */
+@Name(BankOperationEvent.NAME)
+@Label("Bank Operation")
+@Category({"Engineers Week", "Bank"})
+@Description("A deposit or withdrawal on a bank account")
+public class BankOperationEvent extends jdk.jfr.Event {
+
+    static final String NAME = "nl.engineers.week.BankOperation";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Amount")
+    double amount;
+
+    @Label("Allocated")
+    @Description("Bytes allocated by the thread during the operation")
+    @DataAmount
+    long allocated;
+}
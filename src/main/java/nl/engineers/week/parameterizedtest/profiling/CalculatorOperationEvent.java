@@ -0,0 +1,31 @@
+package nl.engineers.week.parameterizedtest.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event covering a batch of {@link nl.engineers.week.parameterizedtest.examples.CalculatorExample}
+ * and {@link nl.engineers.week.parameterizedtest.examples.StringsExample} calls.
+ */
+@Name(CalculatorOperationEvent.NAME)
+@Label("Calculator Operation")
+@Category({"Engineers Week", "Calculator"})
+@Description("A batch of calculator and string utility calls")
+public class CalculatorOperationEvent extends jdk.jfr.Event {
+
+    static final String NAME = "nl.engineers.week.CalculatorOperation";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Calls")
+    int calls;
+
+    @Label("Allocated")
+    @Description("Bytes allocated by the thread during the operation")
+    @DataAmount
+    long allocated;
+}
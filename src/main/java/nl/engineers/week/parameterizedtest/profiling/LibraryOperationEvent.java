@@ -0,0 +1,30 @@
+package nl.engineers.week.parameterizedtest.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event covering a single {@link nl.engineers.week.parameterizedtest.library.Library} operation.
+ */
+@Name(LibraryOperationEvent.NAME)
+@Label("Library Operation")
+@Category({"Engineers Week", "Library"})
+@Description("An add, remove or search on a Library")
+public class LibraryOperationEvent extends jdk.jfr.Event {
+
+    static final String NAME = "nl.engineers.week.LibraryOperation";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Results")
+    int results;
+
+    @Label("Allocated")
+    @Description("Bytes allocated by the thread during the operation")
+    @DataAmount
+    long allocated;
+}
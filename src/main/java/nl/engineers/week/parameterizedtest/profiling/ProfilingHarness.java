@@ -0,0 +1,272 @@
+package nl.engineers.week.parameterizedtest.profiling;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedObject;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+import nl.engineers.week.parameterizedtest.bank.BankAccountExample;
+import nl.engineers.week.parameterizedtest.library.Library;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Runs the {@link ProfilingWorkloads} under Java Flight Recorder and summarizes the recording
+ * into a {@link ProfilingReport}.
+ * Fixtures are built and the workloads warmed up before the recording starts.
+ * Allocation per workload is summed from the exact counts recorded by the operation events.
+ * Allocation sites come from the sampled {@code jdk.ObjectAllocationSample} events, whose
+ * weights estimate the bytes allocated between samples; only samples taken inside an
+ * operation event are kept, and each site is charged to that event's workload.
+ */
+public class ProfilingHarness {
+
+    private static final String DOMAIN_PACKAGE = "nl.engineers.week.parameterizedtest";
+    private static final int TOP_ENTRIES = 10;
+    private static final int LIBRARY_BOOKS = 2_000;
+    private static final int BANK_ACCOUNTS = 1_000;
+    private static final List<String> WORKLOADS = List.of("library", "bank", "calculator");
+
+    private final int iterations;
+
+    /**
+     * Creates a new harness.
+     *
+     * @param iterations the number of operations to run per workload
+     * @throws IllegalArgumentException if the iterations are not positive
+     */
+    public ProfilingHarness(int iterations) {
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("Iterations must be positive.");
+        }
+        this.iterations = iterations;
+    }
+
+    /**
+     * Runs all workloads under a recording and summarizes it.
+     *
+     * @return the profiling report
+     * @throws UncheckedIOException if the recording cannot be written or read
+     */
+    public ProfilingReport run() {
+        try {
+            Path file = Files.createTempFile("profiling", ".jfr");
+            try {
+                long duration = record(file);
+                return summarize(file, duration);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not record profile.", e);
+        }
+    }
+
+    private long record(Path file) throws IOException {
+        // Build the fixtures and let the JIT compile the workloads before recording,
+        // so that the profile covers the steady-state operations only.
+        warmUp(new Random(7));
+        Library library = ProfilingWorkloads.newLibrary(LIBRARY_BOOKS);
+        BankAccountExample[] bank = ProfilingWorkloads.newBank(BANK_ACCOUNTS);
+        Random random = new Random(42);
+        try (Recording recording = new Recording()) {
+            recording.enable(LibraryOperationEvent.class);
+            recording.enable(BankOperationEvent.class);
+            recording.enable(CalculatorOperationEvent.class);
+            recording.enable("jdk.ObjectAllocationSample").with("throttle", "1000/s").withStackTrace();
+            recording.enable("jdk.CompilerInlining");
+            recording.enable("jdk.Deoptimization").withStackTrace();
+            recording.start();
+            long start = System.nanoTime();
+            ProfilingWorkloads.runLibrary(library, LIBRARY_BOOKS, iterations, random);
+            ProfilingWorkloads.runBank(bank, iterations, random);
+            ProfilingWorkloads.runCalculator(iterations, random);
+            long duration = System.nanoTime() - start;
+            recording.stop();
+            recording.dump(file);
+            return duration;
+        }
+    }
+
+    private void warmUp(Random random) {
+        ProfilingWorkloads.runLibrary(ProfilingWorkloads.newLibrary(LIBRARY_BOOKS), LIBRARY_BOOKS, iterations, random);
+        ProfilingWorkloads.runBank(ProfilingWorkloads.newBank(BANK_ACCOUNTS), iterations, random);
+        ProfilingWorkloads.runCalculator(iterations, random);
+    }
+
+    private static ProfilingReport summarize(Path file, long duration) throws IOException {
+        Map<String, Long> operations = new LinkedHashMap<>();
+        Map<String, Long> allocatedBytes = new LinkedHashMap<>();
+        for (String workload : WORKLOADS) {
+            operations.put(workload, 0L);
+            allocatedBytes.put(workload, 0L);
+        }
+        Map<String, Long> allocationSites = new HashMap<>();
+        Map<String, Long> inliningFailures = new HashMap<>();
+        Map<String, Long> deoptimizations = new HashMap<>();
+        Map<Long, List<Window>> windows = new HashMap<>();
+        List<RecordedEvent> allocationSamples = new ArrayList<>();
+
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            switch (event.getEventType().getName()) {
+                case LibraryOperationEvent.NAME -> {
+                    operations.merge("library", 1L, Long::sum);
+                    addOperation(allocatedBytes, windows, event, "library");
+                }
+                case BankOperationEvent.NAME -> {
+                    operations.merge("bank", 1L, Long::sum);
+                    addOperation(allocatedBytes, windows, event, "bank");
+                }
+                case CalculatorOperationEvent.NAME -> {
+                    operations.merge("calculator", event.getLong("calls"), Long::sum);
+                    addOperation(allocatedBytes, windows, event, "calculator");
+                }
+                case "jdk.ObjectAllocationSample" -> allocationSamples.add(event);
+                case "jdk.CompilerInlining" -> {
+                    RecordedObject callee = event.getValue("callee");
+                    String calleeType = callee.getString("type").replace('/', '.');
+                    if (!event.getBoolean("succeeded") && calleeType.startsWith(DOMAIN_PACKAGE)) {
+                        String site = calleeType + "." + callee.getString("name") + ": " + event.getString("message");
+                        inliningFailures.merge(site, 1L, Long::sum);
+                    }
+                }
+                case "jdk.Deoptimization" -> {
+                    RecordedMethod method = event.getValue("method");
+                    if (method != null && method.getType().getName().startsWith(DOMAIN_PACKAGE)) {
+                        String site = describe(method) + ": " + event.getString("reason");
+                        deoptimizations.merge(site, 1L, Long::sum);
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+
+        // Only keep the samples taken inside an operation event, so that setup and the harness
+        // itself are left out, and charge each site to the workload whose event it fell in.
+        // A thread's first sample is skipped: its weight also covers what the thread allocated
+        // before the recording started.
+        for (List<Window> thread : windows.values()) {
+            thread.sort(Comparator.comparingLong((Window window) -> window.start));
+        }
+        allocationSamples.sort(Comparator.comparing(RecordedEvent::getStartTime));
+        Set<Long> sampledThreads = new HashSet<>();
+        for (RecordedEvent sample : allocationSamples) {
+            Window window = windowOf(windows, sample);
+            if (sampledThreads.add(threadId(sample)) || window == null) {
+                continue;
+            }
+            allocationSites.merge(window.workload + ": " + allocationSite(sample), sample.getLong("weight"), Long::sum);
+        }
+        return new ProfilingReport(duration, operations, allocatedBytes,
+                top(allocationSites), top(inliningFailures), top(deoptimizations));
+    }
+
+    private static void addOperation(Map<String, Long> allocatedBytes, Map<Long, List<Window>> windows,
+                                     RecordedEvent event, String workload) {
+        allocatedBytes.merge(workload, event.getLong("allocated"), Long::sum);
+        Window window = new Window(nanos(event.getStartTime()), nanos(event.getEndTime()), workload);
+        windows.computeIfAbsent(threadId(event), thread -> new ArrayList<>()).add(window);
+    }
+
+    private static Window windowOf(Map<Long, List<Window>> windows, RecordedEvent sample) {
+        List<Window> thread = windows.get(threadId(sample));
+        if (thread == null) {
+            return null;
+        }
+        long time = nanos(sample.getStartTime());
+        // Windows on one thread do not overlap, so only the last one starting at or before
+        // the sample can contain it.
+        int low = 0;
+        int high = thread.size() - 1;
+        Window candidate = null;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            Window window = thread.get(middle);
+            if (window.start <= time) {
+                candidate = window;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return candidate != null && time <= candidate.end ? candidate : null;
+    }
+
+    private static long threadId(RecordedEvent event) {
+        RecordedThread thread = event.getThread();
+        return thread == null ? -1 : thread.getId();
+    }
+
+    private static long nanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    private static String allocationSite(RecordedEvent event) {
+        // Attribute the allocation to the innermost domain frame, so that allocations inside
+        // JDK methods such as String.toLowerCase are charged to the domain code calling them.
+        String type = event.getClass("objectClass").getName();
+        if (event.getStackTrace() == null) {
+            return type;
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        for (RecordedFrame frame : frames) {
+            RecordedMethod method = frame.getMethod();
+            if (method.getType().getName().startsWith(DOMAIN_PACKAGE)) {
+                return describe(method) + ":" + frame.getLineNumber() + " (" + type + ")";
+            }
+        }
+        return frames.isEmpty() ? type : describe(frames.get(0).getMethod()) + " (" + type + ")";
+    }
+
+    private static String describe(RecordedMethod method) {
+        return method.getType().getName() + "." + method.getName();
+    }
+
+    private static Map<String, Long> top(Map<String, Long> values) {
+        Map<String, Long> top = new LinkedHashMap<>();
+        values.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(TOP_ENTRIES)
+                .forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+        return top;
+    }
+
+    private static class Window {
+
+        private final long start;
+        private final long end;
+        private final String workload;
+
+        Window(long start, long end, String workload) {
+            this.start = start;
+            this.end = end;
+            this.workload = workload;
+        }
+    }
+
+    /**
+     * Runs the harness and prints the report.
+     *
+     * @param args optionally the number of operations per workload
+     */
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        System.out.print(new ProfilingHarness(iterations).run().format());
+    }
+}
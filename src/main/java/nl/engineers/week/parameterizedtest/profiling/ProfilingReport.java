@@ -0,0 +1,169 @@
+package nl.engineers.week.parameterizedtest.profiling;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Summary of a profiling run: operations and allocation per workload, allocation rate, the top
+ * allocation sites and the JIT inlining failures and deoptimizations in the domain packages.
+ */
+public class ProfilingReport {
+
+    private final long durationNanos;
+    private final Map<String, Long> operations;
+    private final Map<String, Long> allocatedBytes;
+    private final Map<String, Long> allocationSites;
+    private final Map<String, Long> inliningFailures;
+    private final Map<String, Long> deoptimizations;
+
+    /**
+     * Creates a new report.
+     *
+     * @param durationNanos    the duration of the recorded workloads
+     * @param operations       the number of operations recorded per workload
+     * @param allocatedBytes   the estimated number of bytes allocated per workload
+     * @param allocationSites  the estimated bytes allocated per site, largest first
+     * @param inliningFailures the number of failed inlining attempts per call site, most frequent first
+     * @param deoptimizations  the number of deoptimizations per method and reason, most frequent first
+     */
+    public ProfilingReport(long durationNanos, Map<String, Long> operations, Map<String, Long> allocatedBytes,
+                           Map<String, Long> allocationSites, Map<String, Long> inliningFailures,
+                           Map<String, Long> deoptimizations) {
+        this.durationNanos = durationNanos;
+        this.operations = Collections.unmodifiableMap(new LinkedHashMap<>(operations));
+        this.allocatedBytes = Collections.unmodifiableMap(new LinkedHashMap<>(allocatedBytes));
+        this.allocationSites = Collections.unmodifiableMap(new LinkedHashMap<>(allocationSites));
+        this.inliningFailures = Collections.unmodifiableMap(new LinkedHashMap<>(inliningFailures));
+        this.deoptimizations = Collections.unmodifiableMap(new LinkedHashMap<>(deoptimizations));
+    }
+
+    /**
+     * Returns the number of operations recorded per workload.
+     *
+     * @return the operations by workload name
+     */
+    public Map<String, Long> getOperations() {
+        return operations;
+    }
+
+    /**
+     * Returns the total number of operations recorded.
+     *
+     * @return the total operations
+     */
+    public long totalOperations() {
+        return operations.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Returns the estimated number of bytes allocated by all workloads.
+     *
+     * @return the allocated bytes
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Returns the estimated number of bytes allocated per workload.
+     *
+     * @return the allocated bytes by workload name
+     */
+    public Map<String, Long> getAllocatedBytesByWorkload() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Returns the estimated allocation rate.
+     *
+     * @return the allocated bytes per second
+     */
+    public double allocationRate() {
+        return durationNanos == 0 ? 0 : getAllocatedBytes() * 1e9 / durationNanos;
+    }
+
+    /**
+     * Returns the estimated number of bytes allocated per recorded operation.
+     *
+     * @return the allocated bytes per operation
+     */
+    public double allocatedBytesPerOperation() {
+        long total = totalOperations();
+        return total == 0 ? 0 : (double) getAllocatedBytes() / total;
+    }
+
+    /**
+     * Returns the estimated number of bytes allocated per operation of one workload.
+     *
+     * @param workload the workload name
+     * @return the allocated bytes per operation of the workload
+     * @throws IllegalArgumentException if the workload is unknown
+     */
+    public double allocatedBytesPerOperation(String workload) {
+        Long count = operations.get(workload);
+        if (count == null) {
+            throw new IllegalArgumentException("Workload not found.");
+        }
+        return count == 0 ? 0 : (double) allocatedBytes.getOrDefault(workload, 0L) / count;
+    }
+
+    /**
+     * Returns the estimated bytes allocated per site, largest first.
+     *
+     * @return the allocation sites
+     */
+    public Map<String, Long> getAllocationSites() {
+        return allocationSites;
+    }
+
+    /**
+     * Returns the number of failed inlining attempts per call site, most frequent first.
+     *
+     * @return the inlining failures
+     */
+    public Map<String, Long> getInliningFailures() {
+        return inliningFailures;
+    }
+
+    /**
+     * Returns the number of deoptimizations per method and reason, most frequent first.
+     *
+     * @return the deoptimizations
+     */
+    public Map<String, Long> getDeoptimizations() {
+        return deoptimizations;
+    }
+
+    /**
+     * Formats the report as plain text.
+     *
+     * @return the formatted report
+     */
+    public String format() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("Duration: %d ms%n", durationNanos / 1_000_000));
+        text.append(String.format("Allocation rate: %.1f MB/s (%.0f bytes/operation)%n",
+                allocationRate() / (1024 * 1024), allocatedBytesPerOperation()));
+        appendSection(text, "Operations", operations);
+        Map<String, Long> perOperation = new LinkedHashMap<>();
+        for (String workload : operations.keySet()) {
+            perOperation.put(workload, Math.round(allocatedBytesPerOperation(workload)));
+        }
+        appendSection(text, "Allocation per operation (bytes)", perOperation);
+        appendSection(text, "Top allocation sites (bytes)", allocationSites);
+        appendSection(text, "Inlining failures", inliningFailures);
+        appendSection(text, "Deoptimizations", deoptimizations);
+        return text.toString();
+    }
+
+    private static void appendSection(StringBuilder text, String title, Map<String, Long> values) {
+        text.append(title).append(':').append(System.lineSeparator());
+        if (values.isEmpty()) {
+            text.append("  (none)").append(System.lineSeparator());
+        }
+        for (Map.Entry<String, Long> value : values.entrySet()) {
+            text.append(String.format("  %10d  %s%n", value.getValue(), value.getKey()));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package nl.engineers.week.parameterizedtest.profiling;
+
+import com.sun.management.ThreadMXBean;
+import nl.engineers.week.parameterizedtest.bank.BankAccountExample;
+import nl.engineers.week.parameterizedtest.examples.CalculatorExample;
+import nl.engineers.week.parameterizedtest.examples.StringsExample;
+import nl.engineers.week.parameterizedtest.library.Book;
+import nl.engineers.week.parameterizedtest.library.Library;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * Representative workloads for each domain package, with every operation wrapped in its
+ * Flight Recorder event that also records the exact number of bytes the thread allocated
+ * during the operation. Fixtures are created separately, so that a profile can leave out the
+ * setup and only cover the operations. Each run method returns the number of operations it
+ * performed.
+ */
+public class ProfilingWorkloads {
+
+    private static final int CALCULATOR_BATCH = 1_000;
+    private static final String[] STRINGS = {null, "", "  ", "text", "  padded  "};
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private ProfilingWorkloads() {
+    }
+
+    /**
+     * Creates the library used by {@link #runLibrary}.
+     *
+     * @param books the number of books to fill the library with
+     * @return the filled library
+     */
+    public static Library newLibrary(int books) {
+        Library library = new Library();
+        for (int i = 0; i < books; i++) {
+            library.addBook(new Book("Title " + i, "Author " + i % 100));
+        }
+        return library;
+    }
+
+    /**
+     * Runs a mix of searches, removals and re-additions against a library.
+     *
+     * @param library    a library created by {@link #newLibrary}
+     * @param books      the number of books the library was created with
+     * @param operations the number of operations to run
+     * @param random     the source of randomness
+     * @return the number of operations performed
+     */
+    public static long runLibrary(Library library, int books, int operations, Random random) {
+        for (int i = 0; i < operations; i++) {
+            LibraryOperationEvent event = new LibraryOperationEvent();
+            event.begin();
+            long allocated = allocatedBytes();
+            int choice = random.nextInt(10);
+            if (choice < 4) {
+                event.operation = "searchByTitle";
+                event.results = library.searchByTitle("title " + random.nextInt(books * 2)).size();
+            } else if (choice < 8) {
+                event.operation = "searchByAuthor";
+                event.results = library.searchByAuthor("author " + random.nextInt(100)).size();
+            } else {
+                event.operation = "removeAndAdd";
+                int index = random.nextInt(books);
+                Book book = new Book("Title " + index, "Author " + index % 100);
+                library.removeBook(book);
+                library.addBook(book);
+                event.results = 1;
+            }
+            event.allocated = allocatedBytes() - allocated;
+            event.commit();
+        }
+        return operations;
+    }
+
+    /**
+     * Creates the accounts used by {@link #runBank}.
+     *
+     * @param accounts the number of accounts
+     * @return the accounts, each with a starting balance
+     */
+    public static BankAccountExample[] newBank(int accounts) {
+        BankAccountExample[] bank = new BankAccountExample[accounts];
+        for (int i = 0; i < accounts; i++) {
+            bank[i] = new BankAccountExample(Integer.toString(i), 100.0);
+        }
+        return bank;
+    }
+
+    /**
+     * Runs random deposits and withdrawals over a set of accounts.
+     *
+     * @param bank       the accounts, as created by {@link #newBank}
+     * @param operations the number of operations to run
+     * @param random     the source of randomness
+     * @return the number of operations performed
+     */
+    public static long runBank(BankAccountExample[] bank, int operations, Random random) {
+        for (int i = 0; i < operations; i++) {
+            BankAccountExample account = bank[random.nextInt(bank.length)];
+            BankOperationEvent event = new BankOperationEvent();
+            event.begin();
+            long allocated = allocatedBytes();
+            event.amount = 1 + random.nextInt(50);
+            if (random.nextBoolean()) {
+                event.operation = "deposit";
+                account.deposit(event.amount);
+            } else if (event.amount <= account.getBalance()) {
+                event.operation = "withdraw";
+                account.withdraw(event.amount);
+            } else {
+                event.operation = "insufficientFunds";
+            }
+            event.allocated = allocatedBytes() - allocated;
+            event.commit();
+        }
+        return operations;
+    }
+
+    /**
+     * Runs batches of calculator arithmetic and blank-string checks.
+     *
+     * @param operations the number of calls to make, rounded up to whole batches
+     * @param random     the source of randomness
+     * @return the number of calls performed
+     */
+    public static long runCalculator(int operations, Random random) {
+        CalculatorExample calculator = new CalculatorExample();
+        long calls = 0;
+        long sink = 0;
+        while (calls < operations) {
+            CalculatorOperationEvent event = new CalculatorOperationEvent();
+            event.begin();
+            long allocated = allocatedBytes();
+            event.operation = "arithmetic";
+            for (int i = 0; i < CALCULATOR_BATCH; i++) {
+                int a = random.nextInt(1_000);
+                int b = 1 + random.nextInt(100);
+                sink += calculator.add(a, b) + calculator.multiply(a, b) + calculator.modulo(a, b);
+                sink += (long) calculator.divide(a, b) + (calculator.isOdd(a) ? 1 : 0);
+                sink += StringsExample.isBlank(STRINGS[i % STRINGS.length]) ? 1 : 0;
+            }
+            event.calls = CALCULATOR_BATCH;
+            event.allocated = allocatedBytes() - allocated;
+            event.commit();
+            calls += CALCULATOR_BATCH;
+        }
+        // Use the results so the JIT cannot drop the calls.
+        return sink == Long.MIN_VALUE ? 0 : calls;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS.getCurrentThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,74 @@
+package nl.engineers.week.bank;
+
+import nl.engineers.week.parameterizedtest.bank.AccountTransaction;
+import nl.engineers.week.parameterizedtest.bank.BankAccountExample;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reports {@link AccountTransaction} commit throughput and abort rate as contention varies,
+ * by running three-account transfers over fewer or more accounts. Run the {@code main} method
+ * directly; it is not part of the test suite.
+ */
+public class AccountTransactionBenchmark {
+
+    private static final int THREADS = 8;
+    private static final int TRANSACTIONS_PER_THREAD = 50_000;
+    private static final int WARMUP_TRANSACTIONS_PER_THREAD = 10_000;
+    private static final int[] ACCOUNT_COUNTS = {3, 8, 64, 1_024};
+
+    public static void main(String[] args) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            // Warm up every contention level so the first timed level does not pay for JIT compilation.
+            for (int accountCount : ACCOUNT_COUNTS) {
+                run(executor, accountCount, WARMUP_TRANSACTIONS_PER_THREAD);
+            }
+            for (int accountCount : ACCOUNT_COUNTS) {
+                System.out.println(run(executor, accountCount, TRANSACTIONS_PER_THREAD));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static String run(ExecutorService executor, int accountCount, int transactionsPerThread) throws Exception {
+        List<BankAccountExample> accounts = new ArrayList<>();
+        for (int i = 0; i < accountCount; i++) {
+            accounts.add(new BankAccountExample(Integer.toString(i), 1_000_000.0));
+        }
+        LongAdder aborts = new LongAdder();
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < transactionsPerThread; i++) {
+                    int from = random.nextInt(accountCount);
+                    BankAccountExample source = accounts.get(from);
+                    BankAccountExample first = accounts.get((from + 1) % accountCount);
+                    BankAccountExample second = accounts.get((from + 2) % accountCount);
+                    int attempts = AccountTransaction.run(transaction -> {
+                        transaction.withdraw(source, 2.0);
+                        transaction.deposit(first, 1.0);
+                        transaction.deposit(second, 1.0);
+                    }, Integer.MAX_VALUE);
+                    aborts.add(attempts - 1);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long commits = (long) THREADS * transactionsPerThread;
+        return String.format("%5d accounts: %9.0f commits/s, abort rate %5.2f%%",
+                accountCount, commits / seconds, 100.0 * aborts.sum() / (commits + aborts.sum()));
+    }
+}
@@ -0,0 +1,217 @@
+package nl.engineers.week.bank;
+
+import nl.engineers.week.parameterizedtest.bank.AccountTransaction;
+import nl.engineers.week.parameterizedtest.bank.BankAccountExample;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccountTransactionTest {
+
+    @ParameterizedTest
+    @DisplayName("Test withdraw from one account and deposit to two others")
+    @CsvSource({
+            "100.0, 60.0, 40.0",
+            "100.0, 100.0, 0.0",
+            "50.0, 30.0, 20.0"
+    })
+    void testCommit(double initialBalance, double withdrawAmount, double expectedBalance) {
+        BankAccountExample a = new BankAccountExample("A", initialBalance);
+        BankAccountExample b = new BankAccountExample("B", 0.0);
+        BankAccountExample c = new BankAccountExample("C", 0.0);
+        AccountTransaction transaction = new AccountTransaction();
+        transaction.withdraw(a, withdrawAmount);
+        transaction.deposit(b, withdrawAmount / 2);
+        transaction.deposit(c, withdrawAmount / 2);
+        assertTrue(transaction.commit());
+        assertEquals(expectedBalance, a.getBalance());
+        assertEquals(withdrawAmount / 2, b.getBalance());
+        assertEquals(withdrawAmount / 2, c.getBalance());
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test insufficient funds at commit applies nothing")
+    @CsvSource({
+            "50.0, 100.0",
+            "0.0, 10.0",
+            "25.0, 50.0"
+    })
+    void testInsufficientFunds(double initialBalance, double withdrawAmount) {
+        BankAccountExample a = new BankAccountExample("A", initialBalance);
+        BankAccountExample b = new BankAccountExample("B", 0.0);
+        AccountTransaction transaction = new AccountTransaction();
+        transaction.deposit(b, withdrawAmount);
+        transaction.withdraw(a, withdrawAmount);
+        assertThrows(IllegalArgumentException.class, transaction::commit);
+        assertEquals(initialBalance, a.getBalance());
+        assertEquals(0.0, b.getBalance());
+    }
+
+    @Test
+    @DisplayName("Test operations apply in order within the transaction")
+    void testDepositThenWithdraw() {
+        BankAccountExample a = new BankAccountExample("A", 10.0);
+        AccountTransaction transaction = new AccountTransaction();
+        transaction.deposit(a, 40.0);
+        transaction.withdraw(a, 50.0);
+        assertEquals(0.0, transaction.getBalance(a));
+        assertTrue(transaction.commit());
+        assertEquals(0.0, a.getBalance());
+    }
+
+    @Test
+    @DisplayName("Test a transaction over many accounts commits")
+    void testCommitManyAccounts() {
+        List<BankAccountExample> accounts = new ArrayList<>();
+        AccountTransaction transaction = new AccountTransaction();
+        for (int i = 0; i < 10_000; i++) {
+            BankAccountExample account = new BankAccountExample(Integer.toString(i), 0.0);
+            accounts.add(account);
+            transaction.deposit(account, 1.0);
+        }
+        assertTrue(transaction.commit());
+        for (BankAccountExample account : accounts) {
+            assertEquals(1.0, account.getBalance());
+        }
+    }
+
+    @Test
+    @DisplayName("Test a concurrent update makes the commit fail without changes")
+    void testConflict() {
+        BankAccountExample a = new BankAccountExample("A", 100.0);
+        BankAccountExample b = new BankAccountExample("B", 0.0);
+        AccountTransaction transaction = new AccountTransaction();
+        transaction.withdraw(a, 50.0);
+        transaction.deposit(b, 50.0);
+        a.deposit(1.0);
+        assertFalse(transaction.commit());
+        assertEquals(101.0, a.getBalance());
+        assertEquals(0.0, b.getBalance());
+        assertThrows(IllegalStateException.class, () -> transaction.deposit(b, 1.0));
+    }
+
+    @Test
+    @DisplayName("Test run retries a conflicting transaction")
+    void testRunRetries() {
+        BankAccountExample a = new BankAccountExample("A", 100.0);
+        BankAccountExample b = new BankAccountExample("B", 0.0);
+        int[] calls = {0};
+        int attempts = AccountTransaction.run(transaction -> {
+            transaction.withdraw(a, 10.0);
+            transaction.deposit(b, 10.0);
+            if (calls[0]++ == 0) {
+                a.deposit(5.0);
+            }
+        }, 3);
+        assertEquals(2, attempts);
+        assertEquals(95.0, a.getBalance());
+        assertEquals(10.0, b.getBalance());
+    }
+
+    @Test
+    @DisplayName("Test concurrent transfers preserve the total balance")
+    void testConcurrentTransfers() throws Exception {
+        List<BankAccountExample> accounts = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            accounts.add(new BankAccountExample(Integer.toString(i), 1_000.0));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        int from = ThreadLocalRandom.current().nextInt(accounts.size());
+                        int to = (from + 1) % accounts.size();
+                        AccountTransaction.run(transaction -> {
+                            transaction.withdraw(accounts.get(from), 1.0);
+                            transaction.deposit(accounts.get(to), 1.0);
+                        }, Integer.MAX_VALUE);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        double total = 0;
+        for (BankAccountExample account : accounts) {
+            total += account.getBalance();
+        }
+        assertEquals(4_000.0, total);
+    }
+
+    @Test
+    @DisplayName("Test opposite transfers between accounts with the same number do not deadlock")
+    void testSameAccountNumberLockOrder() throws Exception {
+        BankAccountExample a = new BankAccountExample("12345", 10_000.0);
+        BankAccountExample b = new BankAccountExample("12345", 10_000.0);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> forward = executor.submit(() -> transfer(a, b));
+            Future<?> backward = executor.submit(() -> transfer(b, a));
+            forward.get(30, TimeUnit.SECONDS);
+            backward.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(20_000.0, a.getBalance() + b.getBalance());
+    }
+
+    private static void transfer(BankAccountExample from, BankAccountExample to) {
+        for (int i = 0; i < 10_000; i++) {
+            AccountTransaction.run(transaction -> {
+                transaction.withdraw(from, 1.0);
+                transaction.deposit(to, 1.0);
+            }, Integer.MAX_VALUE);
+        }
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test amounts that are not positive finite numbers are rejected")
+    @CsvSource({
+            "0.0",
+            "-5.0",
+            "NaN",
+            "Infinity",
+            "-Infinity"
+    })
+    void testInvalidAmounts(double amount) {
+        BankAccountExample a = new BankAccountExample("A", 100.0);
+        BankAccountExample b = new BankAccountExample("B", 0.0);
+        AccountTransaction transaction = new AccountTransaction();
+        transaction.withdraw(a, 10.0);
+        assertThrows(IllegalArgumentException.class, () -> transaction.deposit(b, amount));
+        assertThrows(IllegalArgumentException.class, () -> transaction.withdraw(b, amount));
+        assertTrue(transaction.commit());
+        assertEquals(90.0, a.getBalance());
+        assertEquals(0.0, b.getBalance());
+    }
+
+    @Test
+    @DisplayName("Test invalid amounts and attempts throw exception")
+    void testInvalidArguments() {
+        BankAccountExample a = new BankAccountExample("A", 100.0);
+        AccountTransaction transaction = new AccountTransaction();
+        assertThrows(IllegalArgumentException.class, () -> transaction.deposit(a, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> transaction.withdraw(a, -5.0));
+        assertThrows(IllegalArgumentException.class, () -> transaction.deposit(null, 5.0));
+        assertThrows(IllegalArgumentException.class, () -> AccountTransaction.run(tx -> { }, 0));
+    }
+}
@@ -0,0 +1,73 @@
+package nl.engineers.week.bank;
+
+import nl.engineers.week.parameterizedtest.bank.BankAccountExample;
+import nl.engineers.week.parameterizedtest.bank.ColumnarAccountStore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares aggregate scans over a {@link ColumnarAccountStore} with scans over a list of
+ * {@link BankAccountExample} objects. Run the {@code main} method directly; it is not part of
+ * the test suite.
+ */
+public class ColumnarAccountStoreBenchmark {
+
+    private static final int ACCOUNTS = 2_000_000;
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int ROUNDS = 20;
+    private static final double THRESHOLD = 100.0;
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        List<BankAccountExample> objects = new ArrayList<>(ACCOUNTS);
+        ColumnarAccountStore store = new ColumnarAccountStore(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            double balance = random.nextInt(100_000) / 100.0;
+            objects.add(new BankAccountExample(Integer.toString(i), balance));
+            store.addAccount(i, balance);
+        }
+
+        long sink = 0;
+        // Warm up both scans so neither timed run pays for JIT compilation.
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            sink += scanObjects(objects) + scanColumnar(store);
+        }
+
+        long objectNanos = 0;
+        long columnarNanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            // Alternate which scan runs first so neither benefits from running second.
+            boolean objectsFirst = round % 2 == 0;
+            long start = System.nanoTime();
+            sink += objectsFirst ? scanObjects(objects) : scanColumnar(store);
+            long first = System.nanoTime() - start;
+            start = System.nanoTime();
+            sink += objectsFirst ? scanColumnar(store) : scanObjects(objects);
+            long second = System.nanoTime() - start;
+            objectNanos += objectsFirst ? first : second;
+            columnarNanos += objectsFirst ? second : first;
+        }
+
+        System.out.printf("objects:  %d ms%n", objectNanos / 1_000_000);
+        System.out.printf("columnar: %d ms%n", columnarNanos / 1_000_000);
+        System.out.println(sink);
+    }
+
+    private static long scanObjects(List<BankAccountExample> objects) {
+        double total = 0;
+        long below = 0;
+        for (BankAccountExample account : objects) {
+            total += account.getBalance();
+            if (account.getBalance() < THRESHOLD) {
+                below++;
+            }
+        }
+        return (long) total + below;
+    }
+
+    private static long scanColumnar(ColumnarAccountStore store) {
+        return (long) store.totalBalance() + store.countBelow(THRESHOLD);
+    }
+}
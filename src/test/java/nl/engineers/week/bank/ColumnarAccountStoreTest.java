@@ -0,0 +1,152 @@
+package nl.engineers.week.bank;
+
+import nl.engineers.week.parameterizedtest.bank.ColumnarAccountStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ColumnarAccountStoreTest {
+
+    @ParameterizedTest
+    @DisplayName("Test deposit with valid amounts")
+    @CsvSource({
+            "100.0, 50.0, 150.0",
+            "200.0, 100.0, 300.0",
+            "0.0, 25.0, 25.0",
+            "0.1, 0.2, 0.3"
+    })
+    void testDeposit(double initialBalance, double depositAmount, double expectedBalance) {
+        ColumnarAccountStore store = new ColumnarAccountStore(1);
+        store.addAccount(12345, initialBalance);
+        store.deposit(12345, depositAmount);
+        assertEquals(expectedBalance, store.getBalance(12345));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test withdraw with valid amounts")
+    @CsvSource({
+            "100.0, 50.0, 50.0",
+            "200.0, 100.0, 100.0",
+            "50.0, 25.0, 25.0"
+    })
+    void testWithdraw(double initialBalance, double withdrawAmount, double expectedBalance) {
+        ColumnarAccountStore store = new ColumnarAccountStore(1);
+        store.addAccount(12345, initialBalance);
+        store.withdraw(12345, withdrawAmount);
+        assertEquals(expectedBalance, store.getBalance(12345));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test withdraw with insufficient funds")
+    @CsvSource({
+            "50.0, 100.0",
+            "0.0, 10.0",
+            "25.0, 50.0"
+    })
+    void testWithdrawInsufficientFunds(double initialBalance, double withdrawAmount) {
+        ColumnarAccountStore store = new ColumnarAccountStore(1);
+        store.addAccount(12345, initialBalance);
+        assertThrows(IllegalArgumentException.class, () -> store.withdraw(12345, withdrawAmount));
+        assertEquals(initialBalance, store.getBalance(12345));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test amounts that are not whole cents are rejected")
+    @CsvSource({
+            "10.0, 0.004",
+            "10.0, 10.004",
+            "10.0, 0.015",
+            "10.0, NaN",
+            "10.0, Infinity"
+    })
+    void testSubCentAmounts(double initialBalance, double amount) {
+        ColumnarAccountStore store = new ColumnarAccountStore(1);
+        store.addAccount(12345, initialBalance);
+        assertThrows(IllegalArgumentException.class, () -> store.deposit(12345, amount));
+        assertThrows(IllegalArgumentException.class, () -> store.withdraw(12345, amount));
+        assertThrows(IllegalArgumentException.class, () -> store.addAccount(54321, amount));
+        assertEquals(initialBalance, store.getBalance(12345));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test thresholds between whole cents are compared exactly")
+    @CsvSource({
+            "5.0, 5.004, 1",
+            "5.0, 5.0, 0",
+            "1.1, 1.1, 0",
+            "1.1, 1.101, 1",
+            "0.29, 0.29, 0",
+            "0.29, 0.2901, 1"
+    })
+    void testSubCentThresholds(double balance, double threshold, long expectedBelow) {
+        ColumnarAccountStore store = new ColumnarAccountStore(1);
+        store.addAccount(12345, balance);
+        assertEquals(expectedBelow, store.countBelow(threshold));
+        assertEquals(expectedBelow, store.accountsBelow(threshold).length);
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test operations on unknown accounts")
+    @ValueSource(longs = {0, 1, -12345})
+    void testUnknownAccount(long accountId) {
+        ColumnarAccountStore store = new ColumnarAccountStore(1);
+        store.addAccount(12345, 10.0);
+        assertThrows(IllegalArgumentException.class, () -> store.deposit(accountId, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> store.getBalance(accountId));
+    }
+
+    @Test
+    @DisplayName("Test adding a duplicate or negative account throws exception")
+    void testInvalidAccounts() {
+        ColumnarAccountStore store = new ColumnarAccountStore(1);
+        store.addAccount(12345, 10.0);
+        assertThrows(IllegalArgumentException.class, () -> store.addAccount(12345, 20.0));
+        assertThrows(IllegalArgumentException.class, () -> store.addAccount(54321, -100.0));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test aggregates over small and parallel-sized stores")
+    @ValueSource(ints = {10, 1_000, 200_000})
+    void testAggregates(int accounts) {
+        ColumnarAccountStore store = new ColumnarAccountStore(0);
+        for (int i = 0; i < accounts; i++) {
+            store.addAccount(i, i % 100);
+        }
+        long expectedTotal = 0;
+        for (int i = 0; i < accounts; i++) {
+            expectedTotal += i % 100;
+        }
+        assertEquals(accounts, store.size());
+        assertEquals(expectedTotal, store.totalBalance());
+        long below = 0;
+        for (int i = 0; i < accounts; i++) {
+            if (i % 100 < 5) {
+                below++;
+            }
+        }
+        assertEquals(below, store.countBelow(5));
+        assertEquals(below, store.accountsBelow(5).length);
+        long[] histogram = store.balanceHistogram(50, 2);
+        assertEquals(accounts, histogram[0] + histogram[1]);
+    }
+
+    @Test
+    @DisplayName("Test filters and histograms reflect updates")
+    void testScansSeeUpdates() {
+        ColumnarAccountStore store = new ColumnarAccountStore(4);
+        store.addAccount(1, 10.0);
+        store.addAccount(2, 20.0);
+        store.addAccount(3, 30.0);
+        store.withdraw(3, 25.0);
+        store.deposit(1, 100.0);
+        assertArrayEquals(new long[]{3}, store.accountsBelow(10));
+        assertArrayEquals(new long[]{1, 0, 1, 1}, store.balanceHistogram(10, 4));
+        assertEquals(135.0, store.totalBalance());
+    }
+}
@@ -0,0 +1,73 @@
+package nl.engineers.week.library;
+
+import nl.engineers.week.parameterizedtest.library.CountingBloomFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountingBloomFilterTest {
+
+    @Test
+    @DisplayName("Test added values are always reported as possibly present")
+    void testNoFalseNegatives() {
+        CountingBloomFilter filter = new CountingBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 1_000; i++) {
+            filter.add("value " + i);
+        }
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(filter.mightContain("value " + i));
+        }
+    }
+
+    @Test
+    @DisplayName("Test removed values are no longer reported as present")
+    void testRemove() {
+        CountingBloomFilter filter = new CountingBloomFilter(100, 0.01);
+        filter.add("1984");
+        filter.add("Emma");
+        filter.remove("1984");
+        assertFalse(filter.mightContain("1984"));
+        assertTrue(filter.mightContain("Emma"));
+        assertEquals(1, filter.size());
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test observed false-positive rate stays near the configured rate")
+    @CsvSource({
+            "1000, 0.01",
+            "10000, 0.05",
+            "5000, 0.001"
+    })
+    void testFalsePositiveRate(int insertions, double falsePositiveRate) {
+        CountingBloomFilter filter = new CountingBloomFilter(insertions, falsePositiveRate);
+        for (int i = 0; i < insertions; i++) {
+            filter.add("present " + i);
+        }
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("absent " + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue((double) falsePositives / probes < falsePositiveRate * 2);
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test filter creation with invalid parameters")
+    @CsvSource({
+            "0, 0.01",
+            "100, 0.0",
+            "100, 1.0",
+            "-5, 0.5"
+    })
+    void testInvalidParameters(int insertions, double falsePositiveRate) {
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(insertions, falsePositiveRate));
+    }
+}
@@ -0,0 +1,70 @@
+package nl.engineers.week.library;
+
+import nl.engineers.week.parameterizedtest.library.Book;
+import nl.engineers.week.parameterizedtest.library.Library;
+
+import java.util.Random;
+
+/**
+ * Measures {@link Library#searchByAuthorFuzzy} latency for 1 and 2 edits on a catalogue with
+ * many distinct authors. Run the {@code main} method directly; it is not part of the test suite.
+ */
+public class FuzzyAuthorSearchBenchmark {
+
+    private static final int BOOKS = 1_000_000;
+    private static final int AUTHORS = 50_000;
+    private static final int QUERIES = 1_000;
+    private static final int WARMUP_QUERIES = 1_000;
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        String[] authors = new String[AUTHORS];
+        for (int i = 0; i < AUTHORS; i++) {
+            authors[i] = randomName(random);
+        }
+        Library library = new Library();
+        for (int i = 0; i < BOOKS; i++) {
+            library.addBook(new Book("Title " + i, authors[i % AUTHORS]));
+        }
+
+        long start = System.nanoTime();
+        library.searchByAuthorFuzzy(authors[0], 0);
+        System.out.printf("index build: %d ms%n", (System.nanoTime() - start) / 1_000_000);
+
+        // Warm up both edit distances on separate queries so the timed runs do not pay for JIT compilation.
+        Random warmup = new Random(7);
+        for (int maxEdits = 1; maxEdits <= 2; maxEdits++) {
+            for (int q = 0; q < WARMUP_QUERIES; q++) {
+                library.searchByAuthorFuzzy(misspell(authors[warmup.nextInt(AUTHORS)], warmup), maxEdits);
+            }
+        }
+
+        for (int maxEdits = 1; maxEdits <= 2; maxEdits++) {
+            long found = 0;
+            start = System.nanoTime();
+            for (int q = 0; q < QUERIES; q++) {
+                found += library.searchByAuthorFuzzy(misspell(authors[random.nextInt(AUTHORS)], random), maxEdits).size();
+            }
+            long micros = (System.nanoTime() - start) / 1_000 / QUERIES;
+            System.out.printf("%d edit(s): %d us/query, %d books found%n", maxEdits, micros, found);
+        }
+    }
+
+    private static String randomName(Random random) {
+        StringBuilder name = new StringBuilder();
+        for (int part = 0; part < 2; part++) {
+            name.append((char) ('A' + random.nextInt(26)));
+            int length = 4 + random.nextInt(6);
+            for (int i = 0; i < length; i++) {
+                name.append((char) ('a' + random.nextInt(26)));
+            }
+            name.append(' ');
+        }
+        return name.toString().trim();
+    }
+
+    private static String misspell(String name, Random random) {
+        int position = 1 + random.nextInt(name.length() - 1);
+        return name.substring(0, position) + name.substring(position + 1);
+    }
+}
@@ -0,0 +1,89 @@
+package nl.engineers.week.library;
+
+import nl.engineers.week.parameterizedtest.library.Book;
+import nl.engineers.week.parameterizedtest.library.Library;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FuzzyAuthorSearchTest {
+
+    private Library library;
+
+    @BeforeEach
+    void setUp() {
+        library = new Library();
+        library.addBook(new Book("1984", "George Orwell"));
+        library.addBook(new Book("Animal Farm", "George Orwell"));
+        library.addBook(new Book("The Great Gatsby", "F. Scott Fitzgerald"));
+        library.addBook(new Book("Emma", "Jane Austen"));
+        library.addBook(new Book("Persuasion", "Jane Austin"));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test misspelled authors are found within the allowed edits")
+    @CsvSource({
+            "George Orwel, 1, 2",
+            "george orwel, 1, 2",
+            "George Orwel, 0, 0",
+            "F. Scott Fitzgerld, 1, 1",
+            "F. Scot Fitzgerld, 1, 0",
+            "F. Scot Fitzgerld, 2, 1",
+            "Jane Austen, 0, 1",
+            "Jane Austen, 1, 2",
+            "Unknown, 2, 0"
+    })
+    void testFuzzySearch(String name, int maxEdits, int expectedBooks) {
+        List<Book> result = library.searchByAuthorFuzzy(name, maxEdits);
+        assertEquals(expectedBooks, result.size());
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test supplementary characters fold case and count as one edit")
+    @CsvSource({
+            "\uD801\uDC28x, 0, 1",
+            "\uD801\uDC01x, 0, 0",
+            "\uD801\uDC01x, 1, 1",
+            "x, 1, 1"
+    })
+    void testSupplementaryCharacters(String name, int maxEdits, int expectedBooks) {
+        // U+10400 and U+10428 are the upper- and lower-case forms of DESERET LONG I.
+        library.addBook(new Book("Saga", "\uD801\uDC00x"));
+        assertEquals(expectedBooks, library.searchByAuthorFuzzy(name, maxEdits).size());
+    }
+
+    @Test
+    @DisplayName("Test results are ranked by edit distance")
+    void testRanking() {
+        List<Book> result = library.searchByAuthorFuzzy("Jane Austin", 1);
+        assertEquals("Jane Austin", result.get(0).getAuthor());
+        assertEquals("Jane Austen", result.get(1).getAuthor());
+    }
+
+    @Test
+    @DisplayName("Test the index follows books added and removed after it is built")
+    void testIndexIsMaintained() {
+        library.searchByAuthorFuzzy("Orwell", 1);
+        Book book = new Book("Brave New World", "Aldous Huxley");
+        library.addBook(book);
+        assertEquals(1, library.searchByAuthorFuzzy("Aldous Huxly", 1).size());
+        library.removeBook(book);
+        assertTrue(library.searchByAuthorFuzzy("Aldous Huxly", 1).isEmpty());
+        library.compact();
+        assertEquals(2, library.searchByAuthorFuzzy("George Orwel", 1).size());
+    }
+
+    @Test
+    @DisplayName("Test searching with negative edits throws exception")
+    void testNegativeEdits() {
+        assertThrows(IllegalArgumentException.class, () -> library.searchByAuthorFuzzy("George Orwell", -1));
+    }
+}
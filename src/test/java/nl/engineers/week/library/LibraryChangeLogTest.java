@@ -0,0 +1,115 @@
+package nl.engineers.week.library;
+
+import nl.engineers.week.parameterizedtest.library.Book;
+import nl.engineers.week.parameterizedtest.library.Library;
+import nl.engineers.week.parameterizedtest.library.LibraryChange;
+import nl.engineers.week.parameterizedtest.library.LibraryChangeLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LibraryChangeLogTest {
+
+    @Test
+    @DisplayName("Test library changes are recorded with increasing sequence numbers")
+    void testRecordChanges() {
+        LibraryChangeLog log = new LibraryChangeLog();
+        Library library = new Library(null, null, log);
+        Book book = new Book("1984", "George Orwell");
+        library.addBook(book);
+        library.addBook(new Book("Emma", "Jane Austen"));
+        library.removeBook(book);
+        List<LibraryChange> changes = log.changesSince(0, 10);
+        assertEquals(3, log.lastSequence());
+        assertEquals(3, changes.size());
+        assertEquals(LibraryChange.Type.REMOVE, changes.get(2).getType());
+        assertEquals(book, changes.get(2).getBook());
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test changes since a sequence number respect the batch size")
+    @CsvSource({
+            "0, 2, 2, 1",
+            "3, 10, 2, 4",
+            "5, 10, 0, 0"
+    })
+    void testChangesSince(long afterSequence, int maxChanges, int expectedSize, long expectedFirst) {
+        LibraryChangeLog log = logWithChanges(5);
+        List<LibraryChange> changes = log.changesSince(afterSequence, maxChanges);
+        assertEquals(expectedSize, changes.size());
+        if (expectedSize > 0) {
+            assertEquals(expectedFirst, changes.get(0).getSequence());
+        }
+    }
+
+    @Test
+    @DisplayName("Test reading truncated changes throws exception")
+    void testTruncation() {
+        LibraryChangeLog log = logWithChanges(5);
+        log.truncateThrough(3);
+        assertEquals(5, log.lastSequence());
+        assertEquals(2, log.changesSince(3, 10).size());
+        assertThrows(IllegalStateException.class, () -> log.changesSince(2, 10));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test reading outside the log throws exception")
+    @ValueSource(longs = {-1, 6})
+    void testSequenceOutsideLog(long afterSequence) {
+        LibraryChangeLog log = logWithChanges(5);
+        assertThrows(IllegalArgumentException.class, () -> log.changesSince(afterSequence, 10));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test batches survive an encode and decode round trip")
+    @ValueSource(ints = {0, 1, 300})
+    void testEncodeDecode(int changes) {
+        LibraryChangeLog log = logWithChanges(changes);
+        log.recordAdd(new Book("Ελληνικά", "Författare"));
+        List<LibraryChange> batch = log.changesSince(0, Integer.MAX_VALUE);
+        List<LibraryChange> decoded = LibraryChangeLog.decode(LibraryChangeLog.encode(batch));
+        assertEquals(batch.size(), decoded.size());
+        for (int i = 0; i < batch.size(); i++) {
+            assertEquals(batch.get(i).getSequence(), decoded.get(i).getSequence());
+            assertEquals(batch.get(i).getType(), decoded.get(i).getType());
+            assertEquals(batch.get(i).getBook().getTitle(), decoded.get(i).getBook().getTitle());
+            assertEquals(batch.get(i).getBook().getAuthor(), decoded.get(i).getBook().getAuthor());
+        }
+    }
+
+    @Test
+    @DisplayName("Test the encoding is smaller than the text it carries")
+    void testEncodingIsCompact() {
+        LibraryChangeLog log = new LibraryChangeLog();
+        log.recordAdd(new Book("1984", "George Orwell"));
+        byte[] encoded = log.fetch(0, 10);
+        assertTrue(encoded.length <= 3 + 2 + "1984".length() + "George Orwell".length());
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test decoding malformed data throws exception")
+    @ValueSource(strings = {"", "01", "0101", "010100ff", "00ff"})
+    void testDecodeMalformed(String hex) {
+        byte[] data = new byte[hex.length() / 2];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+        }
+        assertThrows(IllegalArgumentException.class, () -> LibraryChangeLog.decode(data));
+    }
+
+    private static LibraryChangeLog logWithChanges(int changes) {
+        LibraryChangeLog log = new LibraryChangeLog();
+        for (int i = 0; i < changes; i++) {
+            log.recordAdd(new Book("Title " + i, "Author " + i));
+        }
+        return log;
+    }
+}
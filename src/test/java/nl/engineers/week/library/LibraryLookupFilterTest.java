@@ -0,0 +1,89 @@
+package nl.engineers.week.library;
+
+import nl.engineers.week.parameterizedtest.library.Book;
+import nl.engineers.week.parameterizedtest.library.Library;
+import nl.engineers.week.parameterizedtest.library.LibraryLookupFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LibraryLookupFilterTest {
+
+    @ParameterizedTest
+    @DisplayName("Test searches still find books in any case")
+    @ValueSource(strings = {"George Orwell", "GEORGE ORWELL", "george orwell"})
+    void testSearchFindsBooks(String author) {
+        Library library = new Library(null, new LibraryLookupFilter(100, 0.01));
+        library.addBook(new Book("1984", "George Orwell"));
+        library.addBook(new Book("Animal Farm", "George Orwell"));
+        List<Book> result = library.searchByAuthor(author);
+        assertEquals(2, result.size());
+    }
+
+    @Test
+    @DisplayName("Test searches find supplementary-character titles in the opposite case")
+    void testSearchFindsSupplementaryCharacters() {
+        // U+10400 and U+10428 are the upper- and lower-case forms of DESERET LONG I.
+        Library library = new Library(null, new LibraryLookupFilter(100, 0.0001));
+        library.addBook(new Book("\uD801\uDC00 Saga", "\uD801\uDC00 Author"));
+        assertEquals(1, library.searchByTitle("\uD801\uDC28 saga").size());
+        assertEquals(1, library.searchByAuthor("\uD801\uDC28 AUTHOR").size());
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test unknown titles and authors are rejected by the filter")
+    @ValueSource(strings = {"Orwel", "Brave New World", "Jane Austen"})
+    void testUnknownValuesRejected(String query) {
+        LibraryLookupFilter filter = new LibraryLookupFilter(100, 0.0001);
+        Library library = new Library(null, filter);
+        library.addBook(new Book("1984", "George Orwell"));
+        assertFalse(filter.mightContainTitle(query));
+        assertFalse(filter.mightContainAuthor(query));
+        assertTrue(library.searchByTitle(query).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test removing the last book by an author clears the filter entry")
+    void testRemoveBook() {
+        LibraryLookupFilter filter = new LibraryLookupFilter(100, 0.0001);
+        Library library = new Library(null, filter);
+        Book book = new Book("1984", "George Orwell");
+        library.addBook(book);
+        library.removeBook(book);
+        assertFalse(filter.mightContainAuthor("George Orwell"));
+        assertTrue(library.searchByAuthor("George Orwell").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test compaction grows the filter past its expected size")
+    void testCompactRebuildsFilter() {
+        LibraryLookupFilter filter = new LibraryLookupFilter(10, 0.01);
+        Library library = new Library(null, filter);
+        for (int i = 0; i < 1_000; i++) {
+            library.addBook(new Book("Title " + i, "Author " + i));
+        }
+        long footprint = filter.footprintBytes();
+        library.compact();
+        assertTrue(filter.footprintBytes() > footprint);
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(1, library.searchByTitle("title " + i).size());
+        }
+    }
+
+    @Test
+    @DisplayName("Test footprint report describes both filters")
+    void testFootprintReport() {
+        LibraryLookupFilter filter = new LibraryLookupFilter(100, 0.01);
+        filter.add(new Book("1984", "George Orwell"));
+        String report = filter.footprintReport();
+        assertTrue(report.startsWith("titles: "));
+        assertTrue(report.contains("authors: "));
+    }
+}
@@ -0,0 +1,146 @@
+package nl.engineers.week.library;
+
+import nl.engineers.week.parameterizedtest.library.Book;
+import nl.engineers.week.parameterizedtest.library.Library;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LibraryPublisherTest {
+
+    private static Library libraryOf(int books) {
+        Library library = new Library();
+        for (int i = 0; i < books; i++) {
+            library.addBook(new Book("Title " + i, i % 2 == 0 ? "Author A" : "Author B"));
+        }
+        return library;
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test published matches equal the list search")
+    @ValueSource(strings = {"Author A", "author b", "Unknown"})
+    void testPublishByAuthor(String author) {
+        Library library = libraryOf(10);
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        library.publishByAuthor(author).subscribe(subscriber);
+        assertEquals(library.searchByAuthor(author), subscriber.received);
+        assertTrue(subscriber.completed);
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test only the requested number of books is emitted")
+    @CsvSource({
+            "1, 1",
+            "3, 3",
+            "20, 10"
+    })
+    void testBackpressure(long request, int expectedBooks) {
+        Library library = libraryOf(10);
+        RecordingSubscriber subscriber = new RecordingSubscriber(request);
+        library.publishAllBooks().subscribe(subscriber);
+        assertEquals(expectedBooks, subscriber.received.size());
+        assertEquals(expectedBooks == 10, subscriber.completed);
+    }
+
+    @Test
+    @DisplayName("Test completion after the last match is signalled on the next request")
+    void testCompletesOnNextRequest() {
+        Library library = libraryOf(10);
+        RecordingSubscriber subscriber = new RecordingSubscriber(1);
+        library.publishByTitle("Title 0").subscribe(subscriber);
+        assertEquals(1, subscriber.received.size());
+        assertFalse(subscriber.completed);
+        subscriber.subscription.request(1);
+        assertEquals(1, subscriber.received.size());
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    @DisplayName("Test cancelling midway stops the scan")
+    void testCancel() {
+        Library library = libraryOf(10);
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE) {
+            @Override
+            public void onNext(Book item) {
+                super.onNext(item);
+                if (received.size() == 2) {
+                    subscription.cancel();
+                }
+            }
+        };
+        library.publishByAuthor("Author A").subscribe(subscriber);
+        assertEquals(2, subscriber.received.size());
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    @DisplayName("Test requesting one book at a time from onNext")
+    void testRequestFromOnNext() {
+        Library library = libraryOf(10);
+        RecordingSubscriber subscriber = new RecordingSubscriber(1) {
+            @Override
+            public void onNext(Book item) {
+                super.onNext(item);
+                subscription.request(1);
+            }
+        };
+        library.publishAllBooks().subscribe(subscriber);
+        assertEquals(library.getAllBooks(), subscriber.received);
+        assertTrue(subscriber.completed);
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test non-positive requests signal an error")
+    @ValueSource(longs = {0, -1})
+    void testInvalidRequest(long request) {
+        RecordingSubscriber subscriber = new RecordingSubscriber(request);
+        libraryOf(10).publishAllBooks().subscribe(subscriber);
+        assertInstanceOf(IllegalArgumentException.class, subscriber.error);
+        assertTrue(subscriber.received.isEmpty());
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<Book> {
+
+        final List<Book> received = new ArrayList<>();
+        final long initialRequest;
+        Flow.Subscription subscription;
+        boolean completed;
+        Throwable error;
+
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initialRequest);
+        }
+
+        @Override
+        public void onNext(Book item) {
+            received.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package nl.engineers.week.library;
+
+import nl.engineers.week.parameterizedtest.library.Book;
+import nl.engineers.week.parameterizedtest.library.Library;
+import nl.engineers.week.parameterizedtest.library.LibraryChangeLog;
+import nl.engineers.week.parameterizedtest.library.LibraryReplica;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LibraryReplicaTest {
+
+    @ParameterizedTest
+    @DisplayName("Test a new replica catches up with any batch size")
+    @ValueSource(ints = {1, 7, 1_000})
+    void testCatchUpFromEmpty(int batchSize) {
+        LibraryChangeLog log = new LibraryChangeLog();
+        Library primary = new Library(null, null, log);
+        for (int i = 0; i < 100; i++) {
+            primary.addBook(new Book("Title " + i, "Author " + i % 10));
+        }
+        primary.removeBook(new Book("Title 0", "Author 0"));
+        LibraryReplica replica = new LibraryReplica();
+        assertEquals(101, replica.catchUp(log, batchSize));
+        assertEquals(primary.getAllBooks(), replica.getLibrary().getAllBooks());
+        assertEquals(log.lastSequence(), replica.getAppliedSequence());
+    }
+
+    @Test
+    @DisplayName("Test a replica only pulls changes it has not applied yet")
+    void testIncrementalCatchUp() {
+        LibraryChangeLog log = new LibraryChangeLog();
+        Library primary = new Library(null, null, log);
+        primary.addBook(new Book("1984", "George Orwell"));
+        LibraryReplica replica = new LibraryReplica();
+        replica.catchUp(log, 10);
+        primary.addBook(new Book("Emma", "Jane Austen"));
+        primary.removeBook(new Book("1984", "George Orwell"));
+        assertEquals(2, replica.catchUp(log, 10));
+        assertEquals(0, replica.catchUp(log, 10));
+        assertEquals(primary.getAllBooks(), replica.getLibrary().getAllBooks());
+    }
+
+    @Test
+    @DisplayName("Test a replica behind the truncated log cannot catch up")
+    void testCatchUpAfterTruncation() {
+        LibraryChangeLog log = new LibraryChangeLog();
+        Library primary = new Library(null, null, log);
+        primary.addBook(new Book("1984", "George Orwell"));
+        primary.addBook(new Book("Emma", "Jane Austen"));
+        log.truncateThrough(1);
+        assertThrows(IllegalStateException.class, () -> new LibraryReplica().catchUp(log, 10));
+    }
+}
@@ -0,0 +1,88 @@
+package nl.engineers.week.library;
+
+import nl.engineers.week.parameterizedtest.library.Book;
+import nl.engineers.week.parameterizedtest.library.Library;
+import nl.engineers.week.parameterizedtest.library.LibrarySearchCache;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Compares searches with and without a {@link LibrarySearchCache} on a Zipfian query trace.
+ * Run the {@code main} method directly; it is not part of the test suite.
+ */
+public class LibrarySearchCacheBenchmark {
+
+    private static final int BOOKS = 50_000;
+    private static final int DISTINCT_TITLES = 20_000;
+    private static final int QUERIES = 5_000;
+    private static final int WARMUP_QUERIES = 2_000;
+    private static final int ROUNDS = 3;
+    private static final double ZIPF_EXPONENT = 1.1;
+
+    public static void main(String[] args) {
+        Library uncachedLibrary = fill(new Library());
+
+        // Warm up both paths on a separate trace so neither timed run pays for JIT compilation
+        // and the timed caches start cold.
+        String[] warmup = zipfTrace(new Random(7), WARMUP_QUERIES);
+        run(uncachedLibrary, warmup);
+        run(fill(new Library(new LibrarySearchCache(1_000, 50_000))), warmup);
+
+        String[] trace = zipfTrace(new Random(42), QUERIES);
+        long uncached = 0;
+        long cached = 0;
+        long hits = 0;
+        long misses = 0;
+        long evictions = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            LibrarySearchCache cache = new LibrarySearchCache(1_000, 50_000);
+            Library cachedLibrary = fill(new Library(cache));
+            // Alternate which path runs first so neither benefits from running second.
+            if (round % 2 == 0) {
+                uncached += run(uncachedLibrary, trace);
+                cached += run(cachedLibrary, trace);
+            } else {
+                cached += run(cachedLibrary, trace);
+                uncached += run(uncachedLibrary, trace);
+            }
+            hits += cache.hitCount();
+            misses += cache.missCount();
+            evictions += cache.evictionCount();
+        }
+
+        System.out.printf("uncached: %d ms/round%n", uncached / ROUNDS / 1_000_000);
+        System.out.printf("cached:   %d ms/round (hits=%d, misses=%d, evictions=%d)%n",
+                cached / ROUNDS / 1_000_000, hits / ROUNDS, misses / ROUNDS, evictions / ROUNDS);
+    }
+
+    private static Library fill(Library library) {
+        for (int i = 0; i < BOOKS; i++) {
+            library.addBook(new Book("Title " + (i % DISTINCT_TITLES), "Author " + i));
+        }
+        return library;
+    }
+
+    private static long run(Library library, String[] trace) {
+        long start = System.nanoTime();
+        for (String query : trace) {
+            library.searchByTitle(query);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static String[] zipfTrace(Random random, int queries) {
+        double[] cumulative = new double[DISTINCT_TITLES];
+        double sum = 0;
+        for (int rank = 0; rank < DISTINCT_TITLES; rank++) {
+            sum += 1 / Math.pow(rank + 1, ZIPF_EXPONENT);
+            cumulative[rank] = sum;
+        }
+        String[] trace = new String[queries];
+        for (int i = 0; i < queries; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            trace[i] = "title " + (rank < 0 ? -rank - 1 : rank);
+        }
+        return trace;
+    }
+}
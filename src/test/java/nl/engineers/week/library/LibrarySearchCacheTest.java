@@ -0,0 +1,118 @@
+package nl.engineers.week.library;
+
+import nl.engineers.week.parameterizedtest.library.Book;
+import nl.engineers.week.parameterizedtest.library.Library;
+import nl.engineers.week.parameterizedtest.library.LibrarySearchCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LibrarySearchCacheTest {
+
+    @ParameterizedTest
+    @DisplayName("Test repeated searches are served from the cache regardless of case")
+    @ValueSource(strings = {"1984", "George Orwell", "GEORGE ORWELL", "george orwell"})
+    void testRepeatedSearchHitsCache(String query) {
+        LibrarySearchCache cache = new LibrarySearchCache(10, 100);
+        Library library = new Library(cache);
+        library.addBook(new Book("1984", "George Orwell"));
+        library.searchByTitle(query);
+        library.searchByAuthor(query);
+        library.searchByTitle(query.toLowerCase());
+        library.searchByAuthor(query.toUpperCase());
+        assertEquals(2, cache.missCount());
+        assertEquals(2, cache.hitCount());
+    }
+
+    @Test
+    @DisplayName("Test adding a matching book invalidates the cached result")
+    void testAddBookInvalidates() {
+        Library library = new Library(new LibrarySearchCache(10, 100));
+        library.addBook(new Book("Book One", "Author A"));
+        assertEquals(1, library.searchByAuthor("Author A").size());
+        library.addBook(new Book("Book Two", "author a"));
+        assertEquals(2, library.searchByAuthor("Author A").size());
+    }
+
+    @Test
+    @DisplayName("Test adding a book with supplementary characters in another case invalidates the cached result")
+    void testAddBookInvalidatesSupplementaryCharacters() {
+        // U+10400 and U+10428 are the upper- and lower-case forms of DESERET LONG I.
+        Library library = new Library(new LibrarySearchCache(10, 100));
+        library.addBook(new Book("\uD801\uDC00x", "Author A"));
+        assertEquals(1, library.searchByTitle("\uD801\uDC00x").size());
+        library.addBook(new Book("\uD801\uDC28x", "Author B"));
+        assertEquals(2, library.searchByTitle("\uD801\uDC00x").size());
+    }
+
+    @Test
+    @DisplayName("Test removing a matching book invalidates the cached result")
+    void testRemoveBookInvalidates() {
+        Library library = new Library(new LibrarySearchCache(10, 100));
+        Book book = new Book("1984", "George Orwell");
+        library.addBook(book);
+        assertEquals(1, library.searchByTitle("1984").size());
+        library.removeBook(book);
+        assertTrue(library.searchByTitle("1984").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test unrelated books keep other cached results")
+    void testInvalidationIsPrecise() {
+        LibrarySearchCache cache = new LibrarySearchCache(10, 100);
+        Library library = new Library(cache);
+        library.addBook(new Book("1984", "George Orwell"));
+        library.searchByTitle("1984");
+        library.addBook(new Book("Emma", "Jane Austen"));
+        library.searchByTitle("1984");
+        assertEquals(1, cache.hitCount());
+    }
+
+    @Test
+    @DisplayName("Test modifying a returned list does not affect the cache")
+    void testReturnedListIsCopy() {
+        Library library = new Library(new LibrarySearchCache(10, 100));
+        library.addBook(new Book("1984", "George Orwell"));
+        library.searchByTitle("1984").clear();
+        List<Book> result = library.searchByTitle("1984");
+        assertEquals(1, result.size());
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test cache stays within its entry and weight bounds")
+    @CsvSource({
+            "2, 100, 2, 3",
+            "10, 3, 3, 2",
+            "1, 1, 1, 4"
+    })
+    void testEvictionBounds(int maxEntries, long maxWeight, int expectedSize, long expectedEvictions) {
+        LibrarySearchCache cache = new LibrarySearchCache(maxEntries, maxWeight);
+        Library library = new Library(cache);
+        library.addBook(new Book("Book One", "Author A"));
+        for (String title : new String[]{"A", "B", "C", "D", "E"}) {
+            library.searchByTitle(title);
+        }
+        assertEquals(expectedSize, cache.size());
+        assertEquals(expectedEvictions, cache.evictionCount());
+        assertTrue(cache.weight() <= maxWeight);
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test cache creation with invalid bounds")
+    @CsvSource({
+            "0, 10",
+            "10, 0",
+            "-1, -1"
+    })
+    void testInvalidBounds(int maxEntries, long maxWeight) {
+        assertThrows(IllegalArgumentException.class, () -> new LibrarySearchCache(maxEntries, maxWeight));
+    }
+}
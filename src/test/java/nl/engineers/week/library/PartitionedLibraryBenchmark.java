@@ -0,0 +1,34 @@
+package nl.engineers.week.library;
+
+import nl.engineers.week.parameterizedtest.library.Book;
+import nl.engineers.week.parameterizedtest.library.PartitionedLibrary;
+
+/**
+ * Measures {@link PartitionedLibrary} search latency as the number of shards grows.
+ * Run the {@code main} method directly; it is not part of the test suite.
+ */
+public class PartitionedLibraryBenchmark {
+
+    private static final int BOOKS = 2_000_000;
+    private static final int QUERIES = 200;
+    private static final int[] SHARD_COUNTS = {1, 2, 4, 8, 16};
+
+    public static void main(String[] args) {
+        for (int shards : SHARD_COUNTS) {
+            PartitionedLibrary library = new PartitionedLibrary(shards);
+            for (int i = 0; i < BOOKS; i++) {
+                library.addBook(new Book("Title " + i, "Author " + i % 10_000));
+            }
+            for (int q = 0; q < QUERIES; q++) {
+                library.searchByAuthor("Author " + q);
+            }
+            long start = System.nanoTime();
+            long found = 0;
+            for (int q = 0; q < QUERIES; q++) {
+                found += library.searchByAuthor("Author " + q).size();
+            }
+            long micros = (System.nanoTime() - start) / 1_000 / QUERIES;
+            System.out.printf("%2d shard(s): %6d us/search (%d books found)%n", shards, micros, found);
+        }
+    }
+}
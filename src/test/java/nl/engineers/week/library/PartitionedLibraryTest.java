@@ -0,0 +1,120 @@
+package nl.engineers.week.library;
+
+import nl.engineers.week.parameterizedtest.library.Book;
+import nl.engineers.week.parameterizedtest.library.PartitionedLibrary;
+import nl.engineers.week.parameterizedtest.library.TenantLibraries;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PartitionedLibraryTest {
+
+    private static PartitionedLibrary libraryOf(int shards) {
+        PartitionedLibrary library = new PartitionedLibrary(shards);
+        for (int i = 0; i < 100; i++) {
+            library.addBook(new Book("Title " + i % 10, "Author " + i));
+        }
+        return library;
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test searches find the same books for any shard count")
+    @ValueSource(ints = {1, 2, 7, 16})
+    void testSearch(int shards) {
+        PartitionedLibrary library = libraryOf(shards);
+        assertEquals(shards, library.getShardCount());
+        assertEquals(10, library.searchByTitle("title 3").size());
+        assertEquals(1, library.searchByAuthor("AUTHOR 42").size());
+        assertEquals(100, library.getAllBooks().size());
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test merged results can be ordered")
+    @ValueSource(ints = {1, 4})
+    void testOrderedSearch(int shards) {
+        PartitionedLibrary library = libraryOf(shards);
+        Comparator<Book> byAuthor = Comparator.comparing(Book::getAuthor);
+        List<Book> result = library.searchByTitle("Title 3", byAuthor);
+        for (int i = 1; i < result.size(); i++) {
+            assertFalse(byAuthor.compare(result.get(i - 1), result.get(i)) > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Test removing a book in any case removes it from its shard")
+    void testRemoveBook() {
+        PartitionedLibrary library = libraryOf(8);
+        library.removeBook(new Book("TITLE 3", "author 3"));
+        assertEquals(9, library.searchByTitle("Title 3").size());
+        assertThrows(IllegalArgumentException.class, () -> library.removeBook(new Book("Title 3", "Author 3")));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test equal books in different case are routed to the same shard in any locale")
+    @ValueSource(strings = {"en", "tr"})
+    void testRemoveBookIgnoresLocale(String language) {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag(language));
+        try {
+            PartitionedLibrary library = new PartitionedLibrary(5);
+            for (int i = 0; i < 100; i++) {
+                library.addBook(new Book("TITLE " + i, "IAN"));
+            }
+            for (int i = 0; i < 100; i++) {
+                library.removeBook(new Book("title " + i, "ian"));
+            }
+            assertEquals(0, library.getAllBooks().size());
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    @DisplayName("Test equal books with supplementary characters in different case are routed to the same shard")
+    void testRemoveBookFoldsSupplementaryCharacters() {
+        // U+10400 and U+10428 are the upper- and lower-case forms of DESERET LONG I.
+        PartitionedLibrary library = new PartitionedLibrary(7);
+        for (int i = 0; i < 50; i++) {
+            library.addBook(new Book("\uD801\uDC00x" + i, "Author"));
+        }
+        for (int i = 0; i < 50; i++) {
+            library.removeBook(new Book("\uD801\uDC28x" + i, "Author"));
+        }
+        assertEquals(0, library.getAllBooks().size());
+    }
+
+    @Test
+    @DisplayName("Test invalid arguments throw exception")
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new PartitionedLibrary(0));
+        assertThrows(IllegalArgumentException.class, () -> new PartitionedLibrary(4, null));
+        assertThrows(IllegalArgumentException.class, () -> new PartitionedLibrary(4).addBook(null));
+    }
+
+    @Test
+    @DisplayName("Test tenants get independent catalogues with their own shard counts")
+    void testTenants() {
+        TenantLibraries tenants = new TenantLibraries(ForkJoinPool.commonPool());
+        PartitionedLibrary small = tenants.register("small", 1);
+        PartitionedLibrary large = tenants.register("large", 8);
+        large.addBook(new Book("1984", "George Orwell"));
+        assertNotSame(small, large);
+        assertEquals(8, tenants.get("large").getShardCount());
+        assertEquals(1, tenants.get("large").getAllBooks().size());
+        assertEquals(0, tenants.get("small").getAllBooks().size());
+        assertThrows(IllegalArgumentException.class, () -> tenants.register("small", 2));
+        tenants.remove("small");
+        assertThrows(IllegalArgumentException.class, () -> tenants.get("small"));
+    }
+}
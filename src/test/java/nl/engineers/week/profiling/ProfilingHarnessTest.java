@@ -0,0 +1,71 @@
+package nl.engineers.week.profiling;
+
+import nl.engineers.week.parameterizedtest.profiling.ProfilingHarness;
+import nl.engineers.week.parameterizedtest.profiling.ProfilingReport;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProfilingHarnessTest {
+
+    private static final int ITERATIONS = 20_000;
+
+    private static ProfilingReport report;
+
+    @BeforeAll
+    static void profile() {
+        report = new ProfilingHarness(ITERATIONS).run();
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test every workload records its operation events")
+    @ValueSource(strings = {"library", "bank", "calculator"})
+    void testOperationsRecorded(String workload) {
+        assertTrue(report.getOperations().get(workload) >= ITERATIONS);
+    }
+
+    /**
+     * Thresholds sit just above the measured allocation per operation (198, 0 and 10 bytes with
+     * compressed oops), so a new allocation on a workload's hot path crosses them.
+     */
+    @ParameterizedTest
+    @DisplayName("Test allocation per operation stays below the threshold of each workload")
+    @CsvSource({"library, 250", "bank, 8", "calculator, 16"})
+    void testAllocationThreshold(String workload, double maxBytesPerOperation) {
+        assertTrue(report.allocatedBytesPerOperation(workload) < maxBytesPerOperation, report::format);
+    }
+
+    @Test
+    @DisplayName("Test allocation sites only cover the workloads")
+    void testAllocationSitesExcludeSetup() {
+        for (String site : report.getAllocationSites().keySet()) {
+            assertTrue(site.startsWith("library: ") || site.startsWith("bank: ") || site.startsWith("calculator: "), site);
+            assertFalse(site.contains("ProfilingHarness"), site);
+            assertFalse(site.contains("newLibrary") || site.contains("newBank"), site);
+        }
+    }
+
+    @Test
+    @DisplayName("Test the report lists every section")
+    void testReportFormat() {
+        String text = report.format();
+        assertTrue(text.contains("Allocation rate:"));
+        assertTrue(text.contains("Allocation per operation (bytes):"));
+        assertTrue(text.contains("Top allocation sites (bytes):"));
+        assertTrue(text.contains("Inlining failures:"));
+        assertTrue(text.contains("Deoptimizations:"));
+    }
+
+    @Test
+    @DisplayName("Test harness creation with invalid iterations")
+    void testInvalidIterations() {
+        assertThrows(IllegalArgumentException.class, () -> new ProfilingHarness(0));
+    }
+}